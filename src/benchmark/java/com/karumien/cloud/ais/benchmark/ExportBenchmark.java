@@ -0,0 +1,256 @@
+/*
+ * Copyright (c) 2019-2029 Karumien s.r.o.
+ *
+ * Karumien s.r.o. is not responsible for defects arising from
+ * unauthorized changes to the source code.
+ */
+package com.karumien.cloud.ais.benchmark;
+
+import static org.mockito.Mockito.CALLS_REAL_METHODS;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.withSettings;
+
+import java.io.BufferedWriter;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.karumien.cloud.ais.api.AISPassRestController;
+import com.karumien.cloud.ais.api.OnsiteStream;
+import com.karumien.cloud.ais.api.WorkHtmlRenderer;
+import com.karumien.cloud.ais.api.model.PassDTO;
+import com.karumien.cloud.ais.api.model.UserInfoDTO;
+import com.karumien.cloud.ais.api.model.WorkMonthDTO;
+import com.karumien.cloud.ais.config.ModelMapperConfig;
+import com.karumien.cloud.ais.service.AISService;
+import com.karumien.cloud.ais.service.ContentVersions;
+
+/**
+ * Output formats of work months - Excel export (one workbook or ZIP of workbooks), PDF, HTML month view of every user
+ * and HTML table of users onsite, from one user up to department of 300 users.
+ * <p>
+ * Latency distribution is measured (sample time) by {@code render}, bytes produced by one operation are reported by
+ * {@code output} as counter {@code bytesPerOp}, allocated bytes per operation by GC profiler ({@code mvn -Pbenchmark test-compile exec:exec
+ * -Djmh.args="ExportBenchmark -prof gc"}). Work months are computed in setup, only rendering is measured.
+ *
+ * @since 1.0, 18. 10. 2026 15:52:08
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 5)
+public class ExportBenchmark {
+
+    private static final String ROLE = "admin";
+
+    /**
+     * Output format.
+     */
+    public enum Format {
+        XLSX, XLSX_ZIP, PDF, HTML_MONTH, HTML_ONSITE
+    }
+
+    @Param({ "1", "30", "300" })
+    private int users;
+
+    @Param({ "XLSX", "XLSX_ZIP", "PDF", "HTML_MONTH", "HTML_ONSITE" })
+    private Format format;
+
+    private final CountingOutputStream out = new CountingOutputStream();
+
+    private WorkMonthFixture fixture;
+
+    private YearMonth yearMonth;
+
+    private List<WorkMonthDTO> workMonths;
+
+    private List<UserInfoDTO> workUsers;
+
+    private XSSFWorkbook pdfSource;
+
+    private WorkHtmlRenderer workHtmlRenderer;
+
+    private UserInfoDTO roleUser;
+
+    private AISPassRestController passController;
+
+    @Setup
+    public void setup() throws Exception {
+        yearMonth = YearMonth.now().minusMonths(1);
+        fixture = new WorkMonthFixture(yearMonth, 42);
+        workMonths = WorkMonthFixture.workMonths(yearMonth, users);
+        workUsers = new ArrayList<>();
+        workMonths.forEach(workMonth -> workUsers.add(workMonth.getUserInfo()));
+
+        if (format == Format.PDF) {
+            ByteArrayOutputStream xlsx = new ByteArrayOutputStream();
+            fixture.getAisService().exportWorkDays(yearMonth.getYear(), yearMonth.getMonthValue(), workMonths, false, xlsx);
+            pdfSource = new XSSFWorkbook(new ByteArrayInputStream(xlsx.toByteArray()));
+        }
+
+        roleUser = new UserInfoDTO();
+        roleUser.setUsername(ROLE);
+        roleUser.setRoleAdmin(true);
+
+        workHtmlRenderer = new WorkHtmlRenderer();
+        // formatting by default methods, work months and users are passed to renderer
+        ReflectionTestUtils.setField(workHtmlRenderer, "aisService",
+            mock(AISService.class, withSettings().defaultAnswer(CALLS_REAL_METHODS).stubOnly()));
+        ReflectionTestUtils.setField(workHtmlRenderer, "redirect", false);
+        workHtmlRenderer.init();
+
+        passController = new AISPassRestController();
+        ReflectionTestUtils.setField(passController, "mapper", new ModelMapperConfig().modelMapper());
+        ReflectionTestUtils.setField(passController, "aisService", onsiteService(workMonths));
+        ReflectionTestUtils.setField(passController, "contentVersions", mock(ContentVersions.class, withSettings().stubOnly()));
+        ReflectionTestUtils.setField(passController, "onsiteStream", mock(OnsiteStream.class, withSettings().stubOnly()));
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        fixture.close();
+        if (pdfSource != null) {
+            pdfSource.close();
+        }
+    }
+
+    @Benchmark
+    public long render() throws Exception {
+        out.reset();
+
+        switch (format) {
+        case XLSX:
+            fixture.getAisService().exportWorkDays(yearMonth.getYear(), yearMonth.getMonthValue(), workMonths, false, out);
+            break;
+        case XLSX_ZIP:
+            fixture.getAisService().exportWorkDays(yearMonth.getYear(), yearMonth.getMonthValue(), workMonths, true, out);
+            break;
+        case PDF:
+            fixture.getAisService().toPdf(pdfSource, out);
+            break;
+        case HTML_MONTH:
+            Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 8192);
+            for (WorkMonthDTO workMonth : workMonths) {
+                workHtmlRenderer.renderMonth(writer, ROLE, workMonth.getUserInfo().getUsername(), workMonth, workUsers,
+                    workMonth.getUserInfo(), roleUser, true);
+            }
+            writer.flush();
+            break;
+        case HTML_ONSITE:
+            out.write(passController.getUsersOnsiteHTML().getBytes(StandardCharsets.UTF_8));
+            break;
+        default:
+            throw new IllegalStateException("Unknown format " + format);
+        }
+
+        return out.getCount();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    public long output(Output output) throws Exception {
+        long bytes = render();
+        output.bytes += bytes;
+        output.operations++;
+        return bytes;
+    }
+
+    /**
+     * Bytes produced by one operation, counted per iteration.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Output {
+
+        private long bytes;
+
+        private long operations;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            bytes = 0;
+            operations = 0;
+        }
+
+        public double bytesPerOp() {
+            return operations == 0 ? 0 : (double) bytes / operations;
+        }
+    }
+
+    /**
+     * {@link AISService} of users onsite - every user onsite, every fifth one already left.
+     */
+    private static AISService onsiteService(List<WorkMonthDTO> workMonths) {
+        List<PassDTO> passes = new ArrayList<>();
+        OffsetDateTime arrival = OffsetDateTime.now().withHour(7).withMinute(0);
+        for (int i = 0; i < workMonths.size(); i++) {
+            boolean left = i % 5 == 0;
+            PassDTO pass = new PassDTO();
+            pass.setId(i + 1);
+            pass.setCategoryId(left ? 2 : 1);
+            pass.setCategory(left ? "Odchod" : "Příchod");
+            pass.setDate(arrival.plusMinutes(i));
+            pass.setPerson(workMonths.get(i).getUserInfo());
+            passes.add(pass);
+        }
+
+        AISService aisService = mock(AISService.class, withSettings().stubOnly());
+        doReturn(passes).when(aisService).getPassOnsite();
+        return aisService;
+    }
+
+    /**
+     * Output stream counting written bytes (content is discarded).
+     */
+    private static final class CountingOutputStream extends OutputStream {
+
+        private long count;
+
+        @Override
+        public void write(int b) {
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            count += len;
+        }
+
+        private void reset() {
+            count = 0;
+        }
+
+        private long getCount() {
+            return count;
+        }
+    }
+}
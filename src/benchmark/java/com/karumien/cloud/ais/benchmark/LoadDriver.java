@@ -0,0 +1,226 @@
+/*
+ * Copyright (c) 2019-2029 Karumien s.r.o.
+ *
+ * Karumien s.r.o. is not responsible for defects arising from
+ * unauthorized changes to the source code.
+ */
+package com.karumien.cloud.ais.benchmark;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Load driver of AIS endpoints - concurrent clients call selected endpoints in random order for configured time,
+ * throughput and latency percentiles are reported per endpoint.
+ * <p>
+ * Start service against local stand-in ({@code --spring.profiles.active=local-adochazka}) and run
+ * {@code mvn -Pbenchmark test-compile exec:java -Dexec.mainClass=com.karumien.cloud.ais.benchmark.LoadDriver
+ * -Dexec.classpathScope=test -Dload.concurrency=32}.
+ * <p>
+ * System properties (defaults): {@code load.url} (http://localhost:8080), {@code load.concurrency} (16),
+ * {@code load.warmup} (10 s), {@code load.duration} (60 s), {@code load.role} (admin), {@code load.usernames} (role),
+ * {@code load.endpoints} (onsite,work,html,export).
+ *
+ * @since 1.0, 18. 10. 2026 16:27:45
+ */
+public final class LoadDriver {
+
+    private LoadDriver() {
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+
+        String url = System.getProperty("load.url", "http://localhost:8080");
+        int concurrency = Integer.getInteger("load.concurrency", 16);
+        long warmup = Long.getLong("load.warmup", 10) * 1000;
+        long duration = Long.getLong("load.duration", 60) * 1000;
+        String role = System.getProperty("load.role", "admin");
+        List<String> usernames = Arrays.asList(System.getProperty("load.usernames", role).split(","));
+        List<String> names = Arrays.asList(System.getProperty("load.endpoints", "onsite,work,html,export").split(","));
+
+        LocalDate today = LocalDate.now();
+        Map<String, Endpoint> endpoints = new LinkedHashMap<>();
+        for (String name : names) {
+            endpoints.put(name, endpoint(name.trim(), url, role, today));
+        }
+
+        System.out.printf("Load %s: %d clients, %d s warmup, %d s measured, endpoints %s%n", url, concurrency, warmup / 1000,
+            duration / 1000, endpoints.keySet());
+
+        long start = System.currentTimeMillis();
+        long measureFrom = start + warmup;
+        long end = measureFrom + duration;
+
+        List<Client> clients = new ArrayList<>();
+        CountDownLatch finished = new CountDownLatch(concurrency);
+        for (int i = 0; i < concurrency; i++) {
+            Client client = new Client(new ArrayList<>(endpoints.values()), usernames, measureFrom, end, finished);
+            clients.add(client);
+            new Thread(client, "load-" + i).start();
+        }
+        finished.await();
+
+        System.out.printf("%-8s %8s %7s %9s %8s %8s %8s %8s %8s%n", "endpoint", "ok", "errors", "req/s", "p50 ms",
+            "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+        for (Endpoint endpoint : endpoints.values()) {
+            long[] latencies = endpoint.latencies(clients);
+            Arrays.sort(latencies);
+            System.out.printf("%-8s %8d %7d %9.1f %8.1f %8.1f %8.1f %8.1f %8.1f%n", endpoint.name, latencies.length,
+                endpoint.errors.get(), latencies.length * 1000d / duration, percentile(latencies, 50),
+                percentile(latencies, 90), percentile(latencies, 99), percentile(latencies, 99.9),
+                percentile(latencies, 100));
+        }
+    }
+
+    private static Endpoint endpoint(String name, String url, String role, LocalDate today) {
+        String month = "&year=" + today.getYear() + "&month=" + today.getMonthValue();
+        switch (name) {
+        case "onsite":
+            return new Endpoint(name, "GET", url + "/api/pass/onsite", false);
+        case "work":
+            return new Endpoint(name, "GET", url + "/api/work?username={username}" + month, true);
+        case "html":
+            return new Endpoint(name, "GET", url + "/api/work/html?role=" + role + "&username={username}" + month, true);
+        case "export":
+            return new Endpoint(name, "POST", url + "/api/work/export?role=" + role + "&username={username}" + month, true);
+        default:
+            throw new IllegalArgumentException("Unknown endpoint " + name + ", use onsite, work, html or export");
+        }
+    }
+
+    /**
+     * Latency percentile in ms.
+     */
+    private static double percentile(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percentile / 100d * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(index, sorted.length - 1))] / 1_000_000d;
+    }
+
+    /**
+     * Called endpoint.
+     */
+    private static final class Endpoint {
+
+        private final String name;
+
+        private final String method;
+
+        private final String url;
+
+        private final boolean perUser;
+
+        private final AtomicLong errors = new AtomicLong();
+
+        private Endpoint(String name, String method, String url, boolean perUser) {
+            this.name = name;
+            this.method = method;
+            this.url = url;
+            this.perUser = perUser;
+        }
+
+        private long[] latencies(List<Client> clients) {
+            return clients.stream().flatMapToLong(client -> client.latencies.get(this).stream().mapToLong(Long::longValue)).toArray();
+        }
+
+        /**
+         * Call endpoint, whole response body is read.
+         *
+         * @return {@code true} for successful response
+         */
+        private boolean call(String username) throws IOException {
+            HttpURLConnection connection = (HttpURLConnection) new URL(perUser ? url.replace("{username}", username) : url)
+                .openConnection();
+            connection.setRequestMethod(method);
+            connection.setConnectTimeout(5000);
+            connection.setReadTimeout(60000);
+            if ("POST".equals(method)) {
+                connection.setDoOutput(true);
+                connection.getOutputStream().close();
+            }
+
+            int status = connection.getResponseCode();
+            InputStream body = status < 400 ? connection.getInputStream() : connection.getErrorStream();
+            if (body != null) {
+                try (InputStream in = body) {
+                    byte[] buffer = new byte[8192];
+                    while (in.read(buffer) >= 0) {
+                        // drain
+                    }
+                }
+            }
+            return status < 400;
+        }
+    }
+
+    /**
+     * One client calling endpoints in random order, latencies are recorded only in measured period.
+     */
+    private static final class Client implements Runnable {
+
+        private final List<Endpoint> endpoints;
+
+        private final List<String> usernames;
+
+        private final long measureFrom;
+
+        private final long end;
+
+        private final CountDownLatch finished;
+
+        private final Map<Endpoint, List<Long>> latencies = new LinkedHashMap<>();
+
+        private Client(List<Endpoint> endpoints, List<String> usernames, long measureFrom, long end, CountDownLatch finished) {
+            this.endpoints = endpoints;
+            this.usernames = usernames;
+            this.measureFrom = measureFrom;
+            this.end = end;
+            this.finished = finished;
+            endpoints.forEach(endpoint -> latencies.put(endpoint, new ArrayList<>()));
+        }
+
+        @Override
+        public void run() {
+            try {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                long now;
+                while ((now = System.currentTimeMillis()) < end) {
+                    Endpoint endpoint = endpoints.get(random.nextInt(endpoints.size()));
+                    String username = usernames.get(random.nextInt(usernames.size()));
+
+                    long started = System.nanoTime();
+                    boolean ok;
+                    try {
+                        ok = endpoint.call(username);
+                    } catch (IOException e) {
+                        ok = false;
+                    }
+                    long latency = System.nanoTime() - started;
+
+                    if (now >= measureFrom) {
+                        if (ok) {
+                            latencies.get(endpoint).add(latency);
+                        } else {
+                            endpoint.errors.incrementAndGet();
+                        }
+                    }
+                }
+            } finally {
+                finished.countDown();
+            }
+        }
+    }
+}
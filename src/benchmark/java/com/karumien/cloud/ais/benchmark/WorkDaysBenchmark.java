@@ -0,0 +1,102 @@
+/*
+ * Copyright (c) 2019-2029 Karumien s.r.o.
+ *
+ * Karumien s.r.o. is not responsible for defects arising from
+ * unauthorized changes to the source code.
+ */
+package com.karumien.cloud.ais.benchmark;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.karumien.cloud.ais.api.model.WorkMonthDTO;
+import com.karumien.cloud.ais.service.AISServiceImpl;
+
+/**
+ * Month computation engine - {@code getWorkDays} of one user and its helpers.
+ * <p>
+ * Run by {@code mvn -Pbenchmark test-compile exec:exec -Djmh.args="WorkDaysBenchmark -prof gc"}, throughput and
+ * allocation rate (GC profiler) are reported.
+ *
+ * @since 1.0, 18. 10. 2026 15:31:47
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class WorkDaysBenchmark {
+
+    private static final Double[] HOURS = { 0.1d, 0.3d, 0.5d, 1.2d, 2.75d, 3.5d, 4.1d, 7.9d };
+
+    private static final String[] HOURS_TEXT = { "8", "7,5", "4.25", "7:30", "-1:15", "0:45", "", "x" };
+
+    private WorkMonthFixture fixture;
+
+    private LocalDate[] days;
+
+    private int index;
+
+    @Setup
+    public void setup() {
+        // last month is open (not frozen to snapshot)
+        fixture = new WorkMonthFixture(YearMonth.now().minusMonths(1), 42);
+
+        days = new LocalDate[fixture.getYearMonth().lengthOfMonth()];
+        for (int day = 1; day <= days.length; day++) {
+            days[day - 1] = fixture.getYearMonth().atDay(day);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        fixture.close();
+    }
+
+    @Benchmark
+    public WorkMonthDTO getWorkDays() {
+        YearMonth yearMonth = fixture.getYearMonth();
+        return fixture.getAisService().getWorkDays(yearMonth.getYear(), yearMonth.getMonthValue(), WorkMonthFixture.USERNAME);
+    }
+
+    @Benchmark
+    public Double round() {
+        return AISServiceImpl.round(HOURS[next()]);
+    }
+
+    @Benchmark
+    public Double realHours() {
+        return AISServiceImpl.realHours(HOURS_TEXT[next()]);
+    }
+
+    @Benchmark
+    public String formatAsTime() {
+        return fixture.getAisService().formatAsTime(HOURS[next()]);
+    }
+
+    @Benchmark
+    public void getWorkDayType(Blackhole blackhole) {
+        for (int day = 0; day < days.length; day++) {
+            blackhole.consume(AISServiceImpl.getWorkDayType(days[day], fixture.getWorkMonthMap().get(day + 1)));
+        }
+    }
+
+    private int next() {
+        return index++ & 7;
+    }
+}
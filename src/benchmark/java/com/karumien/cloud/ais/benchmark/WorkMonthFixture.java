@@ -0,0 +1,405 @@
+/*
+ * Copyright (c) 2019-2029 Karumien s.r.o.
+ *
+ * Karumien s.r.o. is not responsible for defects arising from
+ * unauthorized changes to the source code.
+ */
+package com.karumien.cloud.ais.benchmark;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.GregorianCalendar;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+
+import javax.xml.bind.JAXBElement;
+import javax.xml.datatype.DatatypeConfigurationException;
+import javax.xml.datatype.DatatypeFactory;
+import javax.xml.datatype.XMLGregorianCalendar;
+import javax.xml.namespace.QName;
+
+import org.springframework.cache.support.NoOpCacheManager;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import com.karumien.client.adochazka.schemas.CustomerDataDen;
+import com.karumien.client.adochazka.schemas.Uzivatel;
+import com.karumien.client.adochazka.service.ADochazkaService;
+import com.karumien.cloud.ais.api.entity.Work;
+import com.karumien.cloud.ais.api.model.UserInfoDTO;
+import com.karumien.cloud.ais.api.model.WorkDayTypeDTO;
+import com.karumien.cloud.ais.api.model.WorkMonthDTO;
+import com.karumien.cloud.ais.api.model.WorkTypeDTO;
+import com.karumien.cloud.ais.config.ModelMapperConfig;
+import com.karumien.cloud.ais.repo.UserInfoRepository;
+import com.karumien.cloud.ais.repo.ViewPassRepository;
+import com.karumien.cloud.ais.repo.WorkMonthRepository;
+import com.karumien.cloud.ais.repo.WorkRepository;
+import com.karumien.cloud.ais.service.ADochazkaGateway;
+import com.karumien.cloud.ais.service.AISService;
+import com.karumien.cloud.ais.service.AISServiceImpl;
+import com.karumien.cloud.ais.service.AccessEvent;
+import com.karumien.cloud.ais.service.AccessIndex;
+import com.karumien.cloud.ais.service.EmployeeDirectory;
+import com.karumien.cloud.ais.service.PresenceBoard;
+import com.karumien.cloud.ais.service.WorkSnapshotStore;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * {@link AISServiceImpl} wired without Spring context - in-memory {@link ADochazkaService} with synthetic
+ * {@link CustomerDataDen} month behind real {@link ADochazkaGateway}, in-memory repositories.
+ * <p>
+ * Works of month are already filled, so every call of {@code getWorkDays} does the same work. Stand-ins are plain
+ * classes, repositories (JPA interfaces) are stub-only mocks - no invocation is recorded, so long runs keep constant
+ * heap and allocation rate is not inflated by mocks.
+ *
+ * @since 1.0, 18. 10. 2026 15:24:03
+ */
+public class WorkMonthFixture implements AutoCloseable {
+
+    /** Username of synthetic user */
+    public static final String USERNAME = "benchmark";
+
+    /** ADochazka ID of synthetic user */
+    public static final int USER_ID = 1;
+
+    private final YearMonth yearMonth;
+
+    private final Map<Integer, CustomerDataDen> workMonthMap;
+
+    private final List<Work> works;
+
+    private final ADochazkaGateway aDochazkaGateway;
+
+    private final AISServiceImpl aisService;
+
+    /**
+     * Fixture of selected month.
+     *
+     * @param yearMonth
+     *            selected month (not closed, otherwise snapshot would be used)
+     * @param seed
+     *            seed of synthetic data
+     */
+    public WorkMonthFixture(YearMonth yearMonth, long seed) {
+        this.yearMonth = yearMonth;
+        this.workMonthMap = workMonthMap(yearMonth, new Random(seed));
+        this.works = works(yearMonth, workMonthMap);
+
+        MeterRegistry meterRegistry = new SimpleMeterRegistry();
+        aDochazkaGateway = new ADochazkaGateway();
+        ReflectionTestUtils.setField(aDochazkaGateway, "aDochazkaService", new InMemoryADochazkaService(workMonthMap));
+        ReflectionTestUtils.setField(aDochazkaGateway, "timeoutWorkersMap", 5000L);
+        ReflectionTestUtils.setField(aDochazkaGateway, "timeoutAccesses", 5000L);
+        ReflectionTestUtils.setField(aDochazkaGateway, "timeoutWorkMonth", 5000L);
+        ReflectionTestUtils.setField(aDochazkaGateway, "maxConcurrent", 64);
+        ReflectionTestUtils.setField(aDochazkaGateway, "maxWait", 500L);
+        ReflectionTestUtils.setField(aDochazkaGateway, "failureThreshold", 5);
+        ReflectionTestUtils.setField(aDochazkaGateway, "openDuration", 30000L);
+        ReflectionTestUtils.setField(aDochazkaGateway, "lastGoodSize", 100L);
+        ReflectionTestUtils.setField(aDochazkaGateway, "meterRegistry", meterRegistry);
+        aDochazkaGateway.init();
+
+        aisService = new AISServiceImpl();
+        ReflectionTestUtils.setField(aisService, "passRepository", stub(ViewPassRepository.class));
+        ReflectionTestUtils.setField(aisService, "workRepository", workRepository(works));
+        ReflectionTestUtils.setField(aisService, "workMonthRepository", workMonthRepository());
+        ReflectionTestUtils.setField(aisService, "workSnapshotStore", stub(WorkSnapshotStore.class));
+        ReflectionTestUtils.setField(aisService, "userInfoRepository", stub(UserInfoRepository.class));
+        ReflectionTestUtils.setField(aisService, "aDochazkaGateway", aDochazkaGateway);
+        ReflectionTestUtils.setField(aisService, "accessIndex", new InMemoryAccessIndex());
+        ReflectionTestUtils.setField(aisService, "presenceBoard", stub(PresenceBoard.class));
+        ReflectionTestUtils.setField(aisService, "employeeDirectory", new InMemoryEmployeeDirectory(uzivatel()));
+        ReflectionTestUtils.setField(aisService, "mapper", new ModelMapperConfig().modelMapper());
+        ReflectionTestUtils.setField(aisService, "exportStreaming", true);
+        ReflectionTestUtils.setField(aisService, "exportWindow", 100);
+        ReflectionTestUtils.setField(aisService, "meterRegistry", meterRegistry);
+        ReflectionTestUtils.setField(aisService, "transactionManager", new InMemoryTransactionManager());
+        ReflectionTestUtils.setField(aisService, "cacheManager", new NoOpCacheManager());
+    }
+
+    public AISServiceImpl getAisService() {
+        return aisService;
+    }
+
+    public YearMonth getYearMonth() {
+        return yearMonth;
+    }
+
+    public Map<Integer, CustomerDataDen> getWorkMonthMap() {
+        return workMonthMap;
+    }
+
+    @Override
+    public void close() {
+        aDochazkaGateway.destroy();
+    }
+
+    /**
+     * Computed work months of department, every user with different synthetic data.
+     *
+     * @param yearMonth
+     *            selected month
+     * @param users
+     *            count of users
+     * @return {@link List} of {@link WorkMonthDTO} with user info
+     */
+    public static List<WorkMonthDTO> workMonths(YearMonth yearMonth, int users) {
+        List<WorkMonthDTO> workMonths = new ArrayList<>();
+        for (int i = 0; i < users; i++) {
+            try (WorkMonthFixture fixture = new WorkMonthFixture(yearMonth, i)) {
+                WorkMonthDTO workMonth = fixture.getAisService().getWorkDays(yearMonth.getYear(), yearMonth.getMonthValue(), USERNAME);
+
+                UserInfoDTO user = new UserInfoDTO();
+                user.setId(i + 1);
+                user.setCode(i + 1);
+                user.setUsername(USERNAME + i);
+                user.setName("Benchmark User " + i);
+                user.setDepartment("D" + (i % 10));
+                user.setFond(100);
+                workMonth.setUserInfo(user);
+
+                workMonths.add(workMonth);
+            }
+        }
+        return workMonths;
+    }
+
+    /**
+     * Synthetic ADochazka month - arrivals around 7:30, sometimes missing lunch, doctor or business trip.
+     */
+    private static Map<Integer, CustomerDataDen> workMonthMap(YearMonth yearMonth, Random random) {
+
+        Map<Integer, CustomerDataDen> month = new HashMap<>();
+        for (int day = 1; day <= yearMonth.lengthOfMonth(); day++) {
+
+            LocalDate date = yearMonth.atDay(day);
+            boolean weekend = date.getDayOfWeek() == DayOfWeek.SATURDAY || date.getDayOfWeek() == DayOfWeek.SUNDAY;
+
+            CustomerDataDen den = new CustomerDataDen();
+            den.setJeVikend(weekend);
+            den.setJeSvatek(false);
+
+            if (weekend) {
+                den.setPrichod(element("Prichod", null));
+                den.setOdchod(element("Odchod", null));
+                den.setSkutecnyPrichod(element("SkutecnyPrichod", null));
+                den.setSkutecnyOdchod(element("SkutecnyOdchod", null));
+                den.setCelkemPrace(0d);
+                den.setCelkemNaPracovisti(0d);
+                den.setCelkemPrestavka(0d);
+                den.setCelkemLekar(0d);
+                den.setCelkemNemoc(0d);
+                den.setCelkemSickDay(0d);
+                den.setCelkemSluzebniCesta(0d);
+                den.setCelkemSvatba(0d);
+                den.setCelkemPohreb(0d);
+                den.setBalanc(0d);
+                month.put(day, den);
+                continue;
+            }
+
+            ZonedDateTime arrival = date.atTime(6, 45).atZone(ZoneId.systemDefault()).plusMinutes(random.nextInt(90));
+            double lunch = random.nextInt(5) == 0 ? 0d : 0.5d;
+            double doctor = random.nextInt(10) == 0 ? 2d : 0d;
+            double trip = random.nextInt(8) == 0 ? 3d : 0d;
+            double worked = 7.5d + random.nextInt(120) / 60d;
+            ZonedDateTime departure = arrival.plusMinutes((long) ((worked + lunch) * 60));
+
+            den.setPrichod(element("Prichod", calendar(arrival)));
+            den.setOdchod(element("Odchod", calendar(departure)));
+            den.setSkutecnyPrichod(element("SkutecnyPrichod", calendar(arrival)));
+            den.setSkutecnyOdchod(element("SkutecnyOdchod", calendar(departure)));
+            den.setCelkemPrace(worked - doctor);
+            den.setCelkemNaPracovisti(worked - trip);
+            den.setCelkemPrestavka(lunch);
+            den.setCelkemLekar(doctor);
+            den.setCelkemNemoc(0d);
+            den.setCelkemSickDay(0d);
+            den.setCelkemSluzebniCesta(trip);
+            den.setCelkemSvatba(0d);
+            den.setCelkemPohreb(0d);
+            den.setBalanc(worked - AISService.HOURS_IN_DAY);
+            month.put(day, den);
+        }
+        return month;
+    }
+
+    /**
+     * Works of month already filled (as after first access of month).
+     */
+    private static List<Work> works(YearMonth yearMonth, Map<Integer, CustomerDataDen> workMonthMap) {
+        List<Work> works = new ArrayList<>();
+        long id = 1;
+        for (int day = 1; day <= yearMonth.lengthOfMonth(); day++) {
+            LocalDate date = yearMonth.atDay(day);
+            if (AISServiceImpl.getWorkDayType(date, workMonthMap.get(day)) == WorkDayTypeDTO.WORKDAY) {
+                Work work = new Work();
+                work.setId(id++);
+                work.setUsername(USERNAME);
+                work.setDate(date);
+                work.setWorkDayType(WorkDayTypeDTO.WORKDAY);
+                work.setWorkType(WorkTypeDTO.WORK);
+                work.setHours(AISService.HOURS_IN_DAY);
+                works.add(work);
+            }
+        }
+        return works;
+    }
+
+    /**
+     * Mock which records no invocations (heap of long benchmark run stays constant).
+     */
+    private static <T> T stub(Class<T> type) {
+        return mock(type, withSettings().stubOnly());
+    }
+
+    private static WorkRepository workRepository(List<Work> works) {
+        WorkRepository workRepository = stub(WorkRepository.class);
+        when(workRepository.findByUsernameAndDateRange(anyString(), any(), any())).thenAnswer(invocation -> new ArrayList<>(works));
+        when(workRepository.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(workRepository.saveAll(any())).thenAnswer(invocation -> invocation.getArgument(0));
+        return workRepository;
+    }
+
+    private static WorkMonthRepository workMonthRepository() {
+        WorkMonthRepository workMonthRepository = stub(WorkMonthRepository.class);
+        when(workMonthRepository.findByUsernameAndYearAndMonth(anyString(), anyInt(), anyInt())).thenReturn(Optional.empty());
+        when(workMonthRepository.saveAndFlush(any())).thenAnswer(invocation -> invocation.getArgument(0));
+        return workMonthRepository;
+    }
+
+    private static Uzivatel uzivatel() {
+        Uzivatel uzivatel = new Uzivatel();
+        uzivatel.setId(USER_ID);
+        return uzivatel;
+    }
+
+    private static JAXBElement<XMLGregorianCalendar> element(String name, XMLGregorianCalendar value) {
+        JAXBElement<XMLGregorianCalendar> element = new JAXBElement<>(new QName(name), XMLGregorianCalendar.class, value);
+        element.setNil(value == null);
+        return element;
+    }
+
+    private static XMLGregorianCalendar calendar(ZonedDateTime date) {
+        try {
+            return DatatypeFactory.newInstance().newXMLGregorianCalendar(GregorianCalendar.from(date));
+        } catch (DatatypeConfigurationException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * ADochazka with synthetic month of every user.
+     */
+    private static final class InMemoryADochazkaService extends ADochazkaService {
+
+        private final Map<Integer, CustomerDataDen> workMonthMap;
+
+        private InMemoryADochazkaService(Map<Integer, CustomerDataDen> workMonthMap) {
+            this.workMonthMap = workMonthMap;
+        }
+
+        @Override
+        public Map<Integer, CustomerDataDen> getWorkMonthMap(Integer year, Integer month, Integer userId) {
+            return workMonthMap;
+        }
+
+        @Override
+        public OffsetDateTime toOffsetDateTime(XMLGregorianCalendar date) {
+            return date == null ? null : date.toGregorianCalendar().toZonedDateTime().toOffsetDateTime();
+        }
+    }
+
+    /**
+     * Directory with synthetic user only.
+     */
+    private static final class InMemoryEmployeeDirectory extends EmployeeDirectory {
+
+        private final Uzivatel uzivatel;
+
+        private InMemoryEmployeeDirectory(Uzivatel uzivatel) {
+            this.uzivatel = uzivatel;
+        }
+
+        @Override
+        public Uzivatel getByUsername(String username) {
+            return USERNAME.equals(username) ? uzivatel : null;
+        }
+
+        @Override
+        public Uzivatel getByCode(Object code) {
+            return null;
+        }
+    }
+
+    /**
+     * Index without accesses (synthetic days have departure, last access is never needed).
+     */
+    private static final class InMemoryAccessIndex extends AccessIndex {
+
+        @Override
+        public List<AccessEvent> getAccesses(LocalDate day, Integer userId) {
+            return Collections.emptyList();
+        }
+
+        @Override
+        public List<AccessEvent> getAccesses(LocalDate day) {
+            return Collections.emptyList();
+        }
+
+        @Override
+        public boolean isStale(LocalDate day) {
+            return false;
+        }
+
+        @Override
+        public void invalidate(LocalDate from, LocalDate to) {
+        }
+
+        @Override
+        public void prefetch(Collection<LocalDate> requested) {
+        }
+    }
+
+    /**
+     * Transactions without resources.
+     */
+    private static final class InMemoryTransactionManager implements PlatformTransactionManager {
+
+        @Override
+        public TransactionStatus getTransaction(TransactionDefinition definition) {
+            return new SimpleTransactionStatus();
+        }
+
+        @Override
+        public void commit(TransactionStatus status) {
+        }
+
+        @Override
+        public void rollback(TransactionStatus status) {
+        }
+    }
+}
@@ -1,16 +0,0 @@
-package com.karumien.cloud.ais;
-
-import java.util.Arrays;
-
-import org.springframework.boot.autoconfigure.cache.CacheManagerCustomizer;
-import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
-import org.springframework.stereotype.Component;
-
-@Component
-public class SimpleCacheConfiguration implements CacheManagerCustomizer<ConcurrentMapCacheManager> {
-
-    @Override
-    public void customize(ConcurrentMapCacheManager cacheManager) {
-        cacheManager.setCacheNames(Arrays.asList("users", "online", "works"));
-    }   
-}
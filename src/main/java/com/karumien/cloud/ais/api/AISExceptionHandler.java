@@ -13,8 +13,11 @@ import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 
+import com.karumien.cloud.ais.exception.BadRequestException;
 import com.karumien.cloud.ais.exception.ExceptionErrorResponse;
+import com.karumien.cloud.ais.exception.ForbiddenException;
 import com.karumien.cloud.ais.exception.NoDataFoundException;
+import com.karumien.cloud.ais.exception.ServiceUnavailableException;
 
 /**
  * Global Exception Handler.
@@ -34,4 +37,19 @@ public class AISExceptionHandler {
         return new ResponseEntity<>(new ExceptionErrorResponse("NO.GLOBAL", e.getMessage()), HttpStatus.NOT_FOUND);
     }
 
+    @ExceptionHandler(ForbiddenException.class)
+    public ResponseEntity<ExceptionErrorResponse> exceptionHandler(ForbiddenException e) {
+        return new ResponseEntity<>(new ExceptionErrorResponse(e.getCode(), e.getMessage()), HttpStatus.FORBIDDEN);
+    }
+
+    @ExceptionHandler(BadRequestException.class)
+    public ResponseEntity<ExceptionErrorResponse> exceptionHandler(BadRequestException e) {
+        return new ResponseEntity<>(new ExceptionErrorResponse(e.getCode(), e.getMessage()), HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler(ServiceUnavailableException.class)
+    public ResponseEntity<ExceptionErrorResponse> exceptionHandler(ServiceUnavailableException e) {
+        return new ResponseEntity<>(new ExceptionErrorResponse(e.getCode(), e.getMessage()), HttpStatus.SERVICE_UNAVAILABLE);
+    }
+
 }
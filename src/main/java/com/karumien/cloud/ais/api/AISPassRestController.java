@@ -9,14 +9,17 @@ import javax.validation.Valid;
 import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestMethod;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import com.karumien.cloud.ais.api.handler.PassApi;
 import com.karumien.cloud.ais.api.model.PassDTO;
 import com.karumien.cloud.ais.service.AISService;
+import com.karumien.cloud.ais.service.ContentVersions;
 
 /**
  * REST API for AIS Services.
@@ -34,6 +37,12 @@ public class AISPassRestController implements PassApi {
     @Autowired
     private AISService aisService;
 
+    @Autowired
+    private ContentVersions contentVersions;
+
+    @Autowired
+    private OnsiteStream onsiteStream;
+
     /**
      * {@inheritDoc}
      */
@@ -49,9 +58,27 @@ public class AISPassRestController implements PassApi {
      */
     @Override
     public ResponseEntity<List<PassDTO>> getUsersOnsite() {
-        return new ResponseEntity<>(        
-            aisService.getPassOnsite().stream()
-                .map(pass -> mapper.map(pass, PassDTO.class)).collect(Collectors.toList()), HttpStatus.OK);
+        if (ConditionalGet.isNotModified(contentVersions.getOnsite())) {
+            return ConditionalGet.notModified();
+        }
+        return new ResponseEntity<>(onsite(), HttpStatus.OK);
+    }
+
+    private List<PassDTO> onsite() {
+        return aisService.getPassOnsite().stream()
+            .map(pass -> mapper.map(pass, PassDTO.class)).collect(Collectors.toList());
+    }
+
+    /**
+     * GET /pass/onsite/stream : Server-Sent Events of users onsite - event {@code snapshot} with all users onsite
+     * first (and after resync of slow client), then events {@code delta} with arrived, changed and departed users.
+     * Event ID is version of users onsite, delta with version not greater than last snapshot can be ignored.
+     * 
+     * @return {@link SseEmitter} stream of events
+     */
+    @RequestMapping(value = "/pass/onsite/stream", produces = { MediaType.TEXT_EVENT_STREAM_VALUE }, method = RequestMethod.GET)
+    public SseEmitter getUsersOnsiteStream() {
+        return onsiteStream.subscribe();
     }
 
     /**
@@ -63,9 +90,13 @@ public class AISPassRestController implements PassApi {
     @RequestMapping(value = "/pass/onsite/html", produces = { "text/html" }, method = RequestMethod.GET)
     @Deprecated
     public String getUsersOnsiteHTML() {
+        if (ConditionalGet.isNotModified(contentVersions.getOnsite())) {
+            return null;
+        }
+
         StringBuilder sb = new StringBuilder("<table cellspacing=\"5\" class=\"aditus\">");
         
-        List<PassDTO> lines = getUsersOnsite().getBody();
+        List<PassDTO> lines = onsite();
         
         boolean hrShowed = false;
         
@@ -0,0 +1,54 @@
+/*
+ * Copyright (c) 2019-2029 Karumien s.r.o.
+ *
+ * Karumien s.r.o. is not responsible for defects arising from
+ * unauthorized changes to the source code.
+ */
+package com.karumien.cloud.ais.api;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import com.karumien.cloud.ais.service.ContentVersions.Version;
+
+/**
+ * Conditional GET support - ETag and Last-Modified headers of actual response, 304 for unchanged content.
+ *
+ * @since 1.0, 18. 10. 2026 13:20:05
+ */
+final class ConditionalGet {
+
+    private ConditionalGet() {
+    }
+
+    /**
+     * Set ETag (and Last-Modified) of actual response and check request preconditions, response status is set to 304
+     * when content was not modified.
+     *
+     * @param version
+     *            version of content (optional)
+     * @return {@code true} when content was not modified (response body must not be written)
+     */
+    static boolean isNotModified(Version version) {
+        if (version == null) {
+            return false;
+        }
+
+        ServletRequestAttributes attributes = (ServletRequestAttributes) RequestContextHolder.currentRequestAttributes();
+        ServletWebRequest request = new ServletWebRequest(attributes.getRequest(), attributes.getResponse());
+        return version.getLastModified() > 0 ? request.checkNotModified(version.getEtag(), version.getLastModified())
+            : request.checkNotModified(version.getEtag());
+    }
+
+    /**
+     * Empty response for not modified content.
+     *
+     * @return {@link ResponseEntity} with status 304
+     */
+    static <T> ResponseEntity<T> notModified() {
+        return new ResponseEntity<>(HttpStatus.NOT_MODIFIED);
+    }
+}
@@ -0,0 +1,296 @@
+/*
+ * Copyright (c) 2019-2029 Karumien s.r.o.
+ *
+ * Karumien s.r.o. is not responsible for defects arising from
+ * unauthorized changes to the source code.
+ */
+package com.karumien.cloud.ais.api;
+
+import java.io.IOException;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.karumien.cloud.ais.service.PresenceBoard;
+import com.karumien.cloud.ais.service.PresenceDelta;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Server-Sent Events of users onsite - subscriber gets snapshot first and then only {@link PresenceDelta} changes.
+ * <p>
+ * Every subscriber has bounded queue drained by shared sender threads, at most one sending task per subscriber. Slow
+ * subscriber with full queue loses queued deltas and gets new snapshot instead (resync). Subscriber blocked in sending
+ * longer than send timeout is completed and dropped (sender thread interrupted), so stalled clients cannot occupy all
+ * sender threads.
+ *
+ * @since 1.0, 18. 10. 2026 14:12:50
+ */
+@Component
+@Slf4j
+public class OnsiteStream {
+
+    private static final String EVENT_SNAPSHOT = "snapshot";
+
+    private static final String EVENT_DELTA = "delta";
+
+    @Autowired
+    private PresenceBoard presenceBoard;
+
+    @Value("${ais.presence.stream.timeout:1800000}")
+    private long timeout;
+
+    @Value("${ais.presence.stream.queue:32}")
+    private int queueSize;
+
+    @Value("${ais.presence.stream.max-subscribers:500}")
+    private int maxSubscribers;
+
+    @Value("${ais.presence.stream.threads:4}")
+    private int threads;
+
+    @Value("${ais.presence.stream.send-timeout:10000}")
+    private long sendTimeout;
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+
+    private ExecutorService sender;
+
+    @PostConstruct
+    public void init() {
+        sender = Executors.newFixedThreadPool(threads, new CustomizableThreadFactory("ais-sse-"));
+    }
+
+    @PreDestroy
+    public void destroy() {
+        sender.shutdownNow();
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+    }
+
+    /**
+     * Register new subscriber, snapshot of users onsite is sent first.
+     *
+     * @return {@link SseEmitter} of subscriber
+     */
+    public SseEmitter subscribe() {
+
+        if (subscribers.size() >= maxSubscribers) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Too many subscribers of onsite stream");
+        }
+
+        Subscriber subscriber = new Subscriber(new SseEmitter(timeout), queueSize);
+        subscriber.emitter.onCompletion(() -> subscribers.remove(subscriber));
+        subscriber.emitter.onTimeout(() -> subscribers.remove(subscriber));
+        subscriber.emitter.onError(e -> subscribers.remove(subscriber));
+
+        subscribers.add(subscriber);
+        subscriber.resync.set(true);
+        schedule(subscriber);
+        return subscriber.emitter;
+    }
+
+    /**
+     * Returns count of actual subscribers.
+     *
+     * @return count of actual subscribers
+     */
+    public int getSubscribers() {
+        return subscribers.size();
+    }
+
+    /**
+     * Distribute change of users onsite to all subscribers.
+     *
+     * @param delta
+     *            change of users onsite
+     */
+    @EventListener
+    public void onPresenceChanged(PresenceDelta delta) {
+        Event event = new Event(EVENT_DELTA, delta.getVersion(), delta);
+        for (Subscriber subscriber : subscribers) {
+            subscriber.offer(event);
+            schedule(subscriber);
+        }
+    }
+
+    /**
+     * Keep idle connections alive (proxies, load balancers).
+     */
+    @Scheduled(fixedDelayString = "${ais.presence.stream.heartbeat:15000}")
+    public void heartbeat() {
+        for (Subscriber subscriber : subscribers) {
+            if (subscriber.queue.isEmpty()) {
+                subscriber.offer(Event.HEARTBEAT);
+                schedule(subscriber);
+            }
+        }
+    }
+
+    /**
+     * Drop subscribers blocked in sending longer than send timeout.
+     */
+    @Scheduled(fixedDelayString = "${ais.presence.stream.watchdog:1000}")
+    public void watchdog() {
+        long now = System.currentTimeMillis();
+        for (Subscriber subscriber : subscribers) {
+            if (subscriber.stalled(now, sendTimeout)) {
+                log.debug("Onsite stream subscriber dropped: sending stalled");
+                subscribers.remove(subscriber);
+                subscriber.emitter.complete();
+            }
+        }
+    }
+
+    private void schedule(Subscriber subscriber) {
+        if (subscriber.scheduled.compareAndSet(false, true)) {
+            try {
+                sender.execute(() -> drain(subscriber));
+            } catch (RuntimeException e) {
+                subscriber.scheduled.set(false);
+                log.warn("Onsite stream sending rejected: {}", e.getMessage());
+            }
+        }
+    }
+
+    private void drain(Subscriber subscriber) {
+        try {
+            while (true) {
+                if (subscriber.resync.getAndSet(false)) {
+                    subscriber.queue.clear();
+                    PresenceBoard.Snapshot snapshot = presenceBoard.getSnapshot();
+                    send(subscriber, new Event(EVENT_SNAPSHOT, snapshot.getVersion(), snapshot.getPasses()));
+                    continue;
+                }
+                Event event = subscriber.queue.poll();
+                if (event == null) {
+                    break;
+                }
+                send(subscriber, event);
+            }
+        } catch (IOException | IllegalStateException e) {
+            log.debug("Onsite stream subscriber dropped: {}", e.getMessage());
+            subscribers.remove(subscriber);
+            subscriber.emitter.completeWithError(e);
+            return;
+        } finally {
+            subscriber.scheduled.set(false);
+        }
+
+        // events offered while finishing
+        if (!subscriber.queue.isEmpty() || subscriber.resync.get()) {
+            schedule(subscriber);
+        }
+    }
+
+    private void send(Subscriber subscriber, Event event) throws IOException {
+        if (!subscriber.start()) {
+            throw new IllegalStateException("sending stalled");
+        }
+        try {
+            if (event == Event.HEARTBEAT) {
+                subscriber.emitter.send(SseEmitter.event().comment("heartbeat"));
+            } else {
+                subscriber.emitter.send(SseEmitter.event().name(event.name).id(String.valueOf(event.version)).data(event.data));
+            }
+        } finally {
+            subscriber.finish();
+        }
+    }
+
+    /**
+     * Queued event.
+     */
+    private static final class Event {
+
+        private static final Event HEARTBEAT = new Event(null, 0, null);
+
+        private final String name;
+
+        private final long version;
+
+        private final Object data;
+
+        private Event(String name, long version, Object data) {
+            this.name = name;
+            this.version = version;
+            this.data = data;
+        }
+    }
+
+    /**
+     * Subscriber with bounded queue of events.
+     */
+    private static final class Subscriber {
+
+        private final SseEmitter emitter;
+
+        private final BlockingQueue<Event> queue;
+
+        /** Sending task is scheduled or running */
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+
+        /** Snapshot must be sent before next event */
+        private final AtomicBoolean resync = new AtomicBoolean();
+
+        /** Thread blocked in sending, {@code null} when not sending */
+        private Thread sending;
+
+        /** Start of actual sending in ms */
+        private long sendingSince;
+
+        /** Sending stalled, subscriber is dropped */
+        private boolean stalled;
+
+        private Subscriber(SseEmitter emitter, int queueSize) {
+            this.emitter = emitter;
+            this.queue = new ArrayBlockingQueue<>(queueSize);
+        }
+
+        private void offer(Event event) {
+            if (!queue.offer(event)) {
+                resync.set(true);
+            }
+        }
+
+        private synchronized boolean start() {
+            if (stalled) {
+                return false;
+            }
+            sending = Thread.currentThread();
+            sendingSince = System.currentTimeMillis();
+            return true;
+        }
+
+        private synchronized void finish() {
+            sending = null;
+            // interrupt of stalled sending must not leak to next task of sender thread
+            Thread.interrupted();
+        }
+
+        private synchronized boolean stalled(long now, long timeout) {
+            if (stalled || sending == null || now - sendingSince < timeout) {
+                return false;
+            }
+            stalled = true;
+            sending.interrupt();
+            return true;
+        }
+    }
+}
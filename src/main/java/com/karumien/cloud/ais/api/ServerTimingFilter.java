@@ -0,0 +1,74 @@
+/*
+ * Copyright (c) 2019-2029 Karumien s.r.o.
+ *
+ * Karumien s.r.o. is not responsible for defects arising from
+ * unauthorized changes to the source code.
+ */
+package com.karumien.cloud.ais.api;
+
+import java.io.IOException;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import com.karumien.cloud.ais.service.ServerTiming;
+
+/**
+ * {@code Server-Timing} header of work and pass API - cost of request (ADochazka calls, JPA queries, month
+ * computation, rendering) visible in browser developer tools.
+ * <p>
+ * Enabled for all responses by configuration or for single request by parameter {@code timing=true}. Body of timed
+ * response is buffered (header is complete only after rendering), stream of users onsite is never timed.
+ *
+ * @since 1.0, 18. 10. 2026 17:21:47
+ */
+@Component
+public class ServerTimingFilter extends OncePerRequestFilter {
+
+    /** Response header with cost of request */
+    public static final String SERVER_TIMING = "Server-Timing";
+
+    /** Request parameter enabling timing of single request */
+    public static final String TIMING_PARAMETER = "timing";
+
+    @Value("${ais.server-timing.enabled:false}")
+    private boolean enabled;
+
+    @Value("${ais.server-timing.request-flag:true}")
+    private boolean requestFlag;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        if (!path.startsWith("/api/work") && !path.startsWith("/api/pass") || path.endsWith("/stream")) {
+            return true;
+        }
+        return !enabled && !(requestFlag && Boolean.parseBoolean(request.getParameter(TIMING_PARAMETER)));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+
+        ServerTiming timing = new ServerTiming();
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+        request.setAttribute(ServerTiming.ATTRIBUTE, timing);
+        try {
+            filterChain.doFilter(request, wrapper);
+        } finally {
+            request.removeAttribute(ServerTiming.ATTRIBUTE);
+        }
+
+        if (!wrapper.isCommitted()) {
+            wrapper.setHeader(SERVER_TIMING, timing.toHeader());
+        }
+        wrapper.copyBodyToResponse();
+    }
+}
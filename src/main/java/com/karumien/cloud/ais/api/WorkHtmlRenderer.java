@@ -0,0 +1,580 @@
+/*
+ * Copyright (c) 2019-2029 Karumien s.r.o.
+ *
+ * Karumien s.r.o. is not responsible for defects arising from
+ * unauthorized changes to the source code.
+ */
+package com.karumien.cloud.ais.api;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.annotation.PostConstruct;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.karumien.cloud.ais.api.model.PassDTO;
+import com.karumien.cloud.ais.api.model.UserInfoDTO;
+import com.karumien.cloud.ais.api.model.WorkDTO;
+import com.karumien.cloud.ais.api.model.WorkDayDTO;
+import com.karumien.cloud.ais.api.model.WorkDayTypeDTO;
+import com.karumien.cloud.ais.api.model.WorkHourDTO;
+import com.karumien.cloud.ais.api.model.WorkMonthDTO;
+import com.karumien.cloud.ais.api.model.WorkTypeDTO;
+import com.karumien.cloud.ais.service.AISService;
+
+/**
+ * HTML rendering of work month (deprecated HTML UI) directly to response {@link Writer}, static fragments (script,
+ * table headers, option lists) are prepared once.
+ *
+ * @since 1.0, 18. 10. 2026 13:41:36
+ */
+@Component
+public class WorkHtmlRenderer {
+
+    private static final String[] MONTHS = { "leden", "únor", "březen", "duben", "květen", "červen",
+        "červenec", "srpen", "září", "říjen", "listopad", "prosinec" };
+
+    private static final String DAY_HEADER = "<table cellspacing=\"5\" class=\"aditus\" border=\"0\">"
+        + "<tr><td class=\"i24_tableHead menuline\">ID</td>"
+        + "<td class=\"i24_tableHead menuline\">Čas</td>"
+        + "<td class=\"i24_tableHead menuline\">Typ</td>"
+        + "<td class=\"i24_tableHead menuline\">Klávesa</td>"
+        + "<td class=\"i24_tableHead menuline\">Činnost</td>"
+        + "</tr>";
+
+    private static final String MONTH_HEADER = "<tr>"
+        + "<td class=\"i24_tableHead menuline\" align=\"right\">Datum</td>"
+        + "<td class=\"i24_tableHead menuline\">Příchod</td>"
+        + "<td class=\"i24_tableHead menuline\" align=\"center\">Oběd/přest.</td>"
+        + "<td class=\"i24_tableHead menuline\">Odchod</td>"
+        + "<td class=\"i24_tableHead menuline\" align=\"left\">Celkem</td>"
+        + "<td class=\"i24_tableHead menuline\" align=\"right\">Saldo</td>"
+        + "<td class=\"i24_tableHead menuline\" style=\"text-align: right\">Výkazy (";
+
+    private static final String MONTH_HEADER_END = ")"
+        + "<a href=\"#\" onclick=\"document.getElementById('exportForm').submit();\">"
+        + "<img onclick=\"this.form.submit();\" src=\"/img/printer.gif\" style=\"position: relative; top: 4px; margin-left: 6px; width: 15px; height: 16px;\" border=\"0\"/></a>"
+        + "</td><td></td><td class=\"i24_tableHead menuline\">&nbsp; Poznámka (hodiny/zakázka)</td></tr></form>";
+
+    @Autowired
+    private AISService aisService;
+
+    @Value(value = "${jsp.redirect:false}")
+    private Boolean redirect;
+
+    private String baseUrl;
+
+    private String script;
+
+    private String monthForm;
+
+    private String recomputeForm;
+
+    /** Month options by selected month (index 0 - January) */
+    private final String[] monthOptions = new String[MONTHS.length];
+
+    /** Work type options by selected work type */
+    private final Map<WorkTypeDTO, String> workTypeOptions = new EnumMap<>(WorkTypeDTO.class);
+
+    /** Work type options without selected work type */
+    private String workTypeOptionsNone;
+
+    @PostConstruct
+    public void init() {
+
+        baseUrl = Boolean.TRUE.equals(redirect) ? "" : "http://192.168.2.222:2222";
+
+        script = "<script type=\"text/javascript\">"
+            + "function updateWork(form, username) {"
+            + "  var xhttp = new XMLHttpRequest();"
+            + "  xhttp.open(\"POST\", \"" + baseUrl + "/api/work/update?username="
+            + "\"+username, true);"
+            + "  xhttp.setRequestHeader(\"Content-type\", \"application/json\");"
+            + "  if (form.hours.value && form.workType.value != 'NONE' && form.hours2.value && form.workType2.value != 'NONE'"
+            + "  ||  !form.hours.value && form.workType.value == 'NONE' && form.hours2.value && form.workType2.value != 'NONE'"
+            + "  ||  form.hours.value && form.workType.value != 'NONE' && !form.hours2.value && form.workType2.value == 'NONE'"
+            + "  ||  !form.hours.value && form.workType.value == 'NONE' && !form.hours2.value && form.workType2.value == 'NONE'"
+            + "  ||  form.description.value != form.originalDescription.value"
+            + ") {"
+            + "  xhttp.send('{ \"id\": ' + form.id.value + ',"
+            + "        \"hoursText\": ' + (!form.hours.value ? null : '\"' + form.hours.value + '\"') + ',"
+            + "        \"hours2Text\": ' + (!form.hours2.value ? null : '\"' + form.hours2.value + '\"') + ',"
+            + "        \"workType\": \"' + form.workType.value + '\","
+            + "        \"workType2\": \"' + form.workType2.value + '\","
+            + "        \"description\": \"' + form.description.value + '\" }');"
+            + "  }}</script>";
+
+        monthForm = "<form action=\"" + (Boolean.TRUE.equals(redirect) ? "/api/work/html" : "/ais.jsp" ) + "\" method=\"get\">";
+        recomputeForm = "<td>" + monthForm;
+
+        for (int selected = 0; selected < MONTHS.length; selected++) {
+            StringBuilder options = new StringBuilder();
+            for (int i = 0; i < MONTHS.length; i++) {
+                options.append("<option value=\"").append(i + 1).append("\"").append(selected == i ? " selected" : "")
+                    .append(">").append(MONTHS[i]).append("</option>");
+            }
+            monthOptions[selected] = options.toString();
+        }
+
+        for (WorkTypeDTO selected : WorkTypeDTO.values()) {
+            workTypeOptions.put(selected, workTypeOptions(selected));
+        }
+        workTypeOptionsNone = workTypeOptions(null);
+    }
+
+    private String workTypeOptions(WorkTypeDTO selected) {
+        StringBuilder options = new StringBuilder();
+        for (WorkTypeDTO type : WorkTypeDTO.values()) {
+            options.append("<option value=\"").append(type.name()).append("\"").append(selected == type ? " selected" : "")
+                .append(">").append(aisService.getDescription(type)).append("</option>");
+        }
+        return options.toString();
+    }
+
+    /**
+     * Render accesses of user in selected day.
+     *
+     * @param out
+     *            target {@link Writer}
+     * @param day
+     *            selected day
+     * @param accesses
+     *            accesses of selected user in day
+     * @param selectedUser
+     *            selected user
+     * @throws IOException
+     *             on I/O error
+     */
+    public void renderDay(Writer out, LocalDate day, List<PassDTO> accesses, UserInfoDTO selectedUser) throws IOException {
+
+        out.write("<b>");
+        out.write(aisService.date(day));
+        out.write("</b> ");
+        out.write(String.valueOf(selectedUser.getName()));
+        out.write(DAY_HEADER);
+
+        for (PassDTO access : accesses) {
+            out.write("<tr><td class=\"i24_tableItem\">");
+            out.write(String.valueOf(access.getId()));
+            out.write("</td><td class=\"i24_tableItem\">");
+            out.write(aisService.time(access.getDate()));
+            out.write("</td><td class=\"i24_tableItem\">");
+            out.write(String.valueOf(access.getChip()));
+            out.write("</td><td class=\"i24_tableItem\">");
+            out.write(String.valueOf(access.getCategoryId()));
+            out.write("</td><td class=\"i24_tableItem\">");
+            out.write(String.valueOf(access.getCategory()));
+            out.write("</td></tr>");
+        }
+
+        out.write("</table>");
+    }
+
+    /**
+     * Render work month of user.
+     *
+     * @param out
+     *            target {@link Writer}
+     * @param role
+     *            username of viewing user
+     * @param username
+     *            username of selected user
+     * @param workMonthDTO
+     *            work month of selected user
+     * @param workUsers
+     *            users visible for viewing user
+     * @param selectedUser
+     *            selected user
+     * @param roleUser
+     *            viewing user
+     * @param adochazka
+     *            selected user is known in ADochazka
+     * @throws IOException
+     *             on I/O error
+     */
+    public void renderMonth(Writer out, String role, String username, WorkMonthDTO workMonthDTO, List<UserInfoDTO> workUsers,
+            UserInfoDTO selectedUser, UserInfoDTO roleUser, boolean adochazka) throws IOException {
+
+        int year = workMonthDTO.getYear();
+        int month = workMonthDTO.getMonth();
+
+        LocalDate actualMonthDay = LocalDate.now();
+        LocalDate previousMonthDay = LocalDate.now().withDayOfMonth(1).minusMonths(1);
+
+        LocalDate selectedMonthDay = LocalDate.of(year, month, 1);
+        boolean currentMonth = (actualMonthDay.getYear() == year && actualMonthDay.getMonthValue() == month);
+        boolean previousMonth = (previousMonthDay.getYear() == year && previousMonthDay.getMonthValue() == month);
+
+        boolean readonly = ! ( currentMonth || previousMonth );
+        boolean schval = Boolean.TRUE.equals(roleUser.isRoleAdmin()) || Boolean.TRUE.equals(roleUser.isRoleHip());
+
+        out.write(script);
+        out.write("<table cellspacing=\"5\" class=\"aditus\" border=\"0\">");
+        out.write(monthForm);
+        out.write("<tr><td colspan=\"6\"><select name=\"month\" class=\"unvisiblelines\" onchange=\"this.form.submit()\">");
+        out.write(monthOptions[month - 1]);
+        out.write("</select><select class=\"unvisiblelines\" onchange=\"this.form.submit()\">");
+        String yearOption = LocalDate.now().getYear() == year ? "<option selected>" : "<option>";
+        for (int i = 2020; i <= LocalDate.now().getYear(); i++) {
+            out.write(yearOption);
+            out.write(String.valueOf(i));
+            out.write("</option>");
+        }
+        out.write("</select><input type=\"hidden\" name=\"year\" value=\"");
+        out.write(String.valueOf(year));
+        out.write("\"><input type=\"hidden\" name=\"role\" value=\"");
+        out.write(role);
+        out.write("\"></td><td align=\"right\"><select class=\"unvisiblelines\" name=\"username\" onchange=\"this.form.submit()\">");
+
+        for (UserInfoDTO user : workUsers) {
+            out.write("<option value=\"");
+            out.write(String.valueOf(user.getUsername()));
+            out.write(username.equals(user.getUsername()) ? "\" selected>" : "\">");
+            out.write(String.valueOf(user.getName()));
+            out.write("</option>");
+        }
+
+        out.write("</select></td><td></td><td align=\"right\">");
+        if (!readonly && schval && !currentMonth && selectedMonthDay.isBefore(actualMonthDay)) {
+            out.write("<a href=\"#\" class=\"buttonSubmit\" title=\"Schválit vybraný měsíc dané osobě\">&nbsp; Schválit</a>");
+        }
+        out.write("&nbsp;<a href=\"/works.do?action=list&object=native_works&clear=1\" target=\"_parent\" class=\"buttonSubmit\">&nbsp; Výkazy zakázky</a></td></tr></form>");
+
+        out.write("<form id=\"exportForm\" action=\"");
+        out.write(baseUrl);
+        out.write("/api/work/export?username=");
+        out.write(username);
+        out.write("&role=");
+        out.write(role);
+        out.write("&year=");
+        out.write(String.valueOf(year));
+        out.write("&month=");
+        out.write(String.valueOf(month));
+        out.write("\" method=\"post\">");
+        out.write(MONTH_HEADER);
+        out.write(username);
+        out.write(MONTH_HEADER_END);
+
+        double fond = selectedUser.getFond() != null ? selectedUser.getFond() / 100d : 1d;
+        double saldo = 0;
+        double unpaid = 0;
+
+        String dayLink = "<a href=\"" + baseUrl + "/api/work/html?month=" + month + "&year=" + year + "&day=";
+        String dayLinkEnd = "&role=" + role + "&username=" + username + "\" target=\"workday\">";
+        String update = " onChange=\"updateWork(this.form, '" + username + "')\"";
+
+        for (WorkDayDTO workDay : workMonthDTO.getWorkDays()) {
+
+            WorkDTO work = workDay.getWork();
+            boolean pastWorkDay = workDay.getWorkDayType() == WorkDayTypeDTO.WORKDAY && isPast(actualMonthDay, workDay.getDate());
+
+            out.write("<tr>");
+
+            if (work != null) {
+                out.write("<form name=\"form");
+                out.write(String.valueOf(work.getId()));
+                out.write("\">");
+            }
+
+            out.write("<td class=\"i24_tableItem\"><i>");
+            if (pastWorkDay) {
+                out.write(dayLink);
+                out.write(String.valueOf(workDay.getDate().getDayOfMonth()));
+                out.write(dayLinkEnd);
+            }
+            out.write(aisService.date(workDay.getDate()));
+            out.write(pastWorkDay ? "</i></a></td>" : "</i></td>");
+
+            if (workDay.getWorkDayType() == WorkDayTypeDTO.NATIONAL_HOLIDAY) {
+                out.write("<td class=\"i24_tableItem\" colspan=\"8\">");
+                out.write(getDescription(workDay.getWorkDayType()));
+                out.write("</td>");
+                continue;
+            }
+
+            out.write("<td class=\"i24_tableItem\"><b>");
+            out.write(hoursOnly(workDay.getWorkStart()));
+            out.write("</b></td>");
+
+            if (pastWorkDay) {
+                out.write("<td class=\"i24_tableItem\" align=\"center\">");
+                out.write(corrected(workDay.getLunch(), workDay.getOriginalLunch()));
+                out.write("</td>");
+            }
+
+            out.write("<td class=\"i24_tableItem\"><b>");
+            out.write(hoursOnly(workDay.getWorkEnd()));
+            out.write("</b></td>");
+
+            if (workDay.getDate().getDayOfWeek() != DayOfWeek.SATURDAY
+                && workDay.getDate().getDayOfWeek() != DayOfWeek.SUNDAY) {
+
+                if (work == null) {
+                    continue;
+                }
+
+                if (pastWorkDay) {
+
+                    StringBuilder adv = new StringBuilder();
+                    if (workDay.getTrip() != null && workDay.getTrip() > 0) {
+                        adv.append("Služební cesta:  ").append(aisService.hours(workDay.getTrip(), false)).append("\n");
+                    }
+                    if (workDay.getSick() != null && workDay.getSick() > 0) {
+                        adv.append("Lékař/Nemoc :  ").append(aisService.hours(workDay.getSick(), false)).append("\n");
+                    }
+                    if (workDay.getPayed() != null && workDay.getPayed() > 0) {
+                        adv.append("Placené volno :  ").append(aisService.hours(workDay.getPayed(), false)).append("\n");
+                    }
+                    if (workDay.getUnpaid() != null && workDay.getUnpaid() > 0 && schval) {
+                        adv.append("Neuznaný přesčas :  ").append(aisService.hours(workDay.getUnpaid(), false)).append("\n");
+                        unpaid += workDay.getUnpaid();
+                    }
+
+                    out.write("<td class=\"i24_tableItem\" align=\"left\"><div ");
+                    if (adv.length() > 0) {
+                        out.write("title =\"");
+                        out.write(adv.toString());
+                        out.write("\"");
+                    }
+                    out.write("><b>");
+                    out.write(aisService.hours(workDay.getWorkedHours()));
+                    out.write(adv.length() > 0 ? "</b><span class=\"i24_tableHead menuline\"> (?)</span></div></td>" : "</b></div></td>");
+
+                    double actualSaldo = aisService.saldo(workDay);
+
+                    out.write("<td class=\"i24_tableItem\" align=\"right\">");
+                    out.write(saldo(actualSaldo));
+                    out.write("</td>");
+
+                    saldo += actualSaldo;
+
+                } else {
+                    out.write("<td class=\"i24_tableItem\" align=\"right\"></td><td class=\"i24_tableItem\" align=\"right\"><td>");
+                }
+
+                String description = work.getDescription() != null ? work.getDescription() : "";
+
+                if (readonly) {
+                    out.write("<td class=\"i24_tableItem\"><input class=\"unvisiblelines\" type=\"text\" readonly=\"readonly\" name=\"hours\" style=\"width: 35px; margin-left:10px\" value=\"");
+                    out.write(aisService.hours(work.getHours()));
+                    out.write("\"><input class=\"unvisiblelines\" name=\"workType\" readonly=\"readonly\" value=\"");
+                    out.write(work.getWorkType() != null ? aisService.getDescription(work.getWorkType()) : "");
+                    out.write("\"></td>");
+
+                    out.write("<td class=\"i24_tableItem\"><input class=\"unvisiblelines\" type=\"text\" readonly=\"readonly\" name=\"hours2\" style=\"width: 35px; margin-left:10px\" value=\"");
+                    out.write(aisService.hours(work.getHours2()));
+                    out.write("\"><input class=\"unvisiblelines\" name=\"workType\" readonly=\"readonly\" value=\"");
+                    out.write(work.getWorkType() != null ? aisService.getDescription(work.getWorkType2()) : "");
+                    out.write("\"></td>");
+
+                    out.write("<td class=\"i24_tableItem\"><input class=\"unvisiblelines\" name=\"description\" type=\"text\" readonly=\"readonly\" style=\"width: 350px; margin-left:10px\" value=\"");
+                    out.write(description);
+                    out.write("\"></td>");
+                } else {
+                    out.write("<td class=\"i24_tableItem\"><input type=\"hidden\" name=\"id\" value=\"");
+                    out.write(String.valueOf(work.getId()));
+                    out.write("\"><input class=\"unvisiblelines\"");
+                    out.write(update);
+                    out.write(" type=\"text\" name=\"hours\" style=\"width: 35px; margin-left:10px\" value=\"");
+                    out.write(aisService.hours(work.getHours()));
+                    out.write("\"><select class=\"unvisiblelines\" name=\"workType\"");
+                    out.write(update);
+                    out.write(">");
+                    out.write(options(work.getWorkType()));
+                    out.write("</select></td>");
+
+                    out.write("<td class=\"i24_tableItem\"><input class=\"unvisiblelines\"");
+                    out.write(update);
+                    out.write(" name=\"hours2\" type=\"text\" style=\"width: 35px; margin-left:10px\" value=\"");
+                    out.write(aisService.hours(work.getHours2()));
+                    out.write("\"><select class=\"unvisiblelines\" name=\"workType2\"");
+                    out.write(update);
+                    out.write(">");
+                    out.write(options(work.getWorkType2()));
+                    out.write("</select></td>");
+
+                    out.write("<td class=\"i24_tableItem\"><input type=\"hidden\" name=\"originalDescription\" value=\"");
+                    out.write(description);
+                    out.write("\"><input class=\"unvisiblelines\"");
+                    out.write(update);
+                    out.write(" name=\"description\" type=\"text\" style=\"width: 350px; margin-left:10px\" value=\"");
+                    out.write(description);
+                    out.write("\"></td>");
+                }
+            }
+
+            if (work != null) {
+                out.write("</form>");
+            }
+
+            out.write("</tr>");
+
+            if (workDay.getDate().getDayOfWeek() == DayOfWeek.SUNDAY && ! workDay.getDate().isEqual(workDay.getDate().with(TemporalAdjusters.lastDayOfMonth()))) {
+                out.write("<tr><td colspan=\"9\"><hr/></td></tr>");
+            }
+        }
+        out.write("</table>");
+
+        // footer - row of titles and row of values
+        double worked = 0;
+        double sum = workMonthDTO.getSumHolidays();
+        for (WorkDTO work : workMonthDTO.getSums()) {
+            double days = work.getHours() == null ? 0 : work.getHours() / AISService.HOURS_IN_DAY;
+            if (aisService.isWorkingType(work.getWorkType())) {
+                worked += days;
+            }
+            sum += days;
+        }
+        boolean unpaidVisible = adochazka && unpaid > 0 && schval;
+
+        out.write("<table cellspacing=\"0\" cellpadding=\"5\" class=\"aditus\"><tr><td colspan=\"5\"><hr/></td></tr><tr>");
+        out.write("<td class=\"i24_tableItem\"><i>Svátky</i></td>");
+        out.write("<td class=\"i24_tableItem\"><i><b>Fond</b></i></td>");
+        out.write("<td class=\"i24_tableItem\" style=\"background-color: #EFEFEF\"><i>Celkem</i></td>");
+        if (adochazka) {
+            out.write("<td class=\"i24_tableItem\" style=\"#888888\"><i title=\"Saldo ke konci včerejšího dne\">ADocházka (?)</i></td>");
+        }
+        if (unpaidVisible) {
+            out.write("<td class=\"i24_tableItem\" style=\"#888888\"><i title=\"Neuznaný přesčas\">Neuznáno (?)</i></td>");
+        }
+        for (WorkDTO work : workMonthDTO.getSums()) {
+            if (aisService.isWorkingType(work.getWorkType())) {
+                out.write("<td class=\"i24_tableItem\" style=\"background-color: #7FDBFF\"><i>");
+                out.write(aisService.getDescription(work.getWorkType()));
+                out.write("</i></td>");
+            }
+        }
+        out.write("<td class=\"i24_tableItem\"><i><b>Odpracováno</b></i></td>");
+        for (WorkDTO work : workMonthDTO.getSums()) {
+            if (!aisService.isWorkingType(work.getWorkType())) {
+                out.write("<td class=\"i24_tableItem\"><i>");
+                out.write(aisService.getDescription(work.getWorkType()));
+                out.write("</i></td>");
+            }
+        }
+        out.write("<td class=\"i24_tableItem\" style=\"background-color: #EFEFEF\"><i>Celkem</i></td>");
+
+        out.write("<tr><td class=\"i24_tableItem\"><b>");
+        out.write(aisService.days(workMonthDTO.getSumHolidays()));
+        out.write("</b></td><td class=\"i24_tableItem\"><b>");
+        if (selectedUser.getFond() == null) {
+            out.write(aisService.days(workMonthDTO.getSumWorkDays()));
+        } else {
+            out.write(aisService.days(workMonthDTO.getSumWorkDays() * fond));
+            out.write("</b> / ");
+            out.write(aisService.days(workMonthDTO.getSumWorkDays()));
+        }
+        out.write("</b></td><td class=\"i24_tableItem\" style=\"background-color: #EFEFEF\"><b>");
+        out.write(aisService.days(workMonthDTO.getSumHolidays() + workMonthDTO.getSumWorkDays()));
+        out.write("</b></td>");
+        if (adochazka) {
+            out.write("<td class=\"i24_tableItem\"><b>");
+            out.write(aisService.hours(workMonthDTO.getSumOnSiteDays()));
+            out.write("</b> (");
+            out.write(saldo(saldo));
+            out.write(")</td>");
+        }
+        if (unpaidVisible) {
+            out.write("<td class=\"i24_tableItem\"><b>");
+            out.write(aisService.hours(unpaid));
+            out.write("</td>");
+        }
+        for (WorkDTO work : workMonthDTO.getSums()) {
+            if (aisService.isWorkingType(work.getWorkType())) {
+                out.write("<td class=\"i24_tableItem\" style=\"background-color: #7FDBFF\"><b>");
+                out.write(aisService.days(work.getHours() == null ? null : work.getHours() / AISService.HOURS_IN_DAY));
+                out.write("</b></td>");
+            }
+        }
+        out.write("<td class=\"i24_tableItem\"><b>");
+        out.write(aisService.days(worked));
+        out.write("</b></td>");
+        for (WorkDTO work : workMonthDTO.getSums()) {
+            if (!aisService.isWorkingType(work.getWorkType())) {
+                out.write("<td class=\"i24_tableItem\"><b>");
+                out.write(aisService.days(work.getHours() == null ? 0 : work.getHours() / AISService.HOURS_IN_DAY));
+                out.write("</b></td>");
+            }
+        }
+        out.write("<td class=\"i24_tableItem\" style=\"background-color: #EFEFEF\"><b>");
+        out.write(aisService.days(sum));
+        out.write("</b></td>");
+
+        if (!readonly) {
+            out.write(recomputeForm);
+            out.write("<input type=\"hidden\" name=\"year\" value=\"");
+            out.write(String.valueOf(year));
+            out.write("\"><input type=\"hidden\" name=\"role\" value=\"");
+            out.write(role);
+            out.write("\"><input type=\"hidden\" name=\"month\" value=\"");
+            out.write(String.valueOf(month));
+            out.write("\"><input type=\"hidden\" name=\"username\" value=\"");
+            out.write(username);
+            out.write("\"><input type=\"submit\" class=\"buttonSubmit\" value=\"&nbsp; Přepočítat\"/></form></td>");
+        }
+
+        out.write("</tr>");
+
+        if (!readonly) {
+            out.write("<td></td>");
+        }
+
+        out.write("</tr></table>");
+    }
+
+    private String options(WorkTypeDTO selected) {
+        return selected == null ? workTypeOptionsNone : workTypeOptions.get(selected);
+    }
+
+    private boolean isPast(LocalDate actualMonthDay, LocalDate date) {
+        return actualMonthDay.isAfter(date)|| actualMonthDay.equals(date);
+    }
+
+    private String saldo(Double value) {
+        if (value == null) {
+            return "";
+        }
+
+        String time = aisService.formatAsTime(value);
+        if ("-0:00".equals(time)) {
+            time = "0:00";
+        }
+        return "<span style=\"color:" + (time.startsWith("-") ? "#FF4136" : "#2ECC40") + "\">" + time + "</span>";
+    }
+
+    private String hoursOnly(WorkHourDTO work) {
+        if (work == null || work.getDate() == null) {
+            return "";
+        }
+        return "<span "+(work.isCorrected()? " title =\""+ aisService.hoursOriginalOnly(work) +"\"":"") +"style=\"color:" + (work.isCorrected() ? "#888888":"#000") +"\">"
+           + aisService.hoursOnly(work) + "</span>";
+    }
+
+    private String corrected(Double lunch, Double originalLunch) {
+        if (lunch == null) {
+            return "";
+        }
+        return "<span "+(originalLunch != null ? " title =\""+ aisService.hours(originalLunch) +"\"":"") +"style=\"color:" + (originalLunch != null  ? "#888888":"#000") +"\">"
+                + aisService.hours(lunch) + "</span>";
+    }
+
+    private String getDescription(WorkDayTypeDTO workDayType) {
+        switch (workDayType) {
+        case NATIONAL_HOLIDAY:
+            return "<b>Státní svátek</b>";
+        case WORKDAY:
+            return "Pracovní den";
+        default:
+            return "";
+        }
+    }
+}
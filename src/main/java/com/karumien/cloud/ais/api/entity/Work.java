@@ -11,6 +11,7 @@ import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
 import javax.persistence.Table;
+import javax.persistence.TableGenerator;
 
 import com.karumien.cloud.ais.api.model.WorkDayTypeDTO;
 import com.karumien.cloud.ais.api.model.WorkTypeDTO;
@@ -24,7 +25,9 @@ public class Work implements Serializable {
 
     private static final long serialVersionUID = 1L;
 
-    @Id @GeneratedValue(strategy=GenerationType.IDENTITY)
+    @Id @GeneratedValue(strategy=GenerationType.TABLE, generator="workGenerator")
+    @TableGenerator(name="workGenerator", table="AIS_SEQUENCE", pkColumnName="SEQ_NAME", valueColumnName="SEQ_VALUE", 
+        pkColumnValue="AIS_WORK", allocationSize=50)
     @Column(name = "ID")
     private Long id;
 
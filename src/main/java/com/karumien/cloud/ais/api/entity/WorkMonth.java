@@ -0,0 +1,180 @@
+/*
+ * Copyright (c) 2019-2029 Karumien s.r.o.
+ *
+ * Karumien s.r.o. is not responsible for defects arising from 
+ * unauthorized changes to the source code.
+ */
+package com.karumien.cloud.ais.api.entity;
+
+import java.io.Serializable;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.Table;
+import javax.persistence.TableGenerator;
+import javax.persistence.Version;
+
+import com.karumien.cloud.ais.api.model.WorkTypeDTO;
+
+import lombok.Data;
+
+/**
+ * WorkMonth entity - materialized summary of {@link Work} of user in month, concurrent updates are detected by
+ * version (optimistic lock).
+ *
+ * @since 1.0, 18. 10. 2026 12:14:37
+ */
+@Entity
+@Table(name = "AIS_WORK_MONTH")
+@Data
+public class WorkMonth implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @Id @GeneratedValue(strategy=GenerationType.TABLE, generator="workMonthGenerator")
+    @TableGenerator(name="workMonthGenerator", table="AIS_SEQUENCE", pkColumnName="SEQ_NAME", valueColumnName="SEQ_VALUE", 
+        pkColumnValue="AIS_WORK_MONTH", allocationSize=50)
+    @Column(name = "ID")
+    private Long id;
+
+    @Version
+    @Column(name = "VERSION", nullable = false)
+    private long version;
+
+    @Column(name = "USERNAME", nullable = false, updatable = false)
+    private String username;
+
+    @Column(name = "YEAR", nullable = false, updatable = false)
+    private Integer year;
+
+    @Column(name = "MONTH", nullable = false, updatable = false)
+    private Integer month;
+
+    @Column(name = "SUM_WORK_DAYS")
+    private Integer sumWorkDays;
+
+    @Column(name = "SUM_HOLIDAYS")
+    private Integer sumHolidays;
+
+    @Column(name = "SUM_ON_SITE_DAYS")
+    private Double sumOnSiteDays;
+
+    @Column(name = "HOURS_WORK", nullable = false)
+    private double hoursWork;
+
+    @Column(name = "HOURS_TRIP", nullable = false)
+    private double hoursTrip;
+
+    @Column(name = "HOURS_SICKDAY", nullable = false)
+    private double hoursSickday;
+
+    @Column(name = "HOURS_SICKNESS", nullable = false)
+    private double hoursSickness;
+
+    @Column(name = "HOURS_TIMEOFF", nullable = false)
+    private double hoursTimeoff;
+
+    @Column(name = "HOURS_HOLIDAY", nullable = false)
+    private double hoursHoliday;
+
+    @Column(name = "HOURS_PAID_LEAVE", nullable = false)
+    private double hoursPaidLeave;
+
+    /**
+     * Returns sum of hours of work type.
+     * 
+     * @param workType
+     *            type of work
+     * @return sum of hours
+     */
+    public double getHours(WorkTypeDTO workType) {
+        switch (workType) {
+        case WORK:
+            return hoursWork;
+        case TRIP:
+            return hoursTrip;
+        case SICKDAY:
+            return hoursSickday;
+        case SICKNESS:
+            return hoursSickness;
+        case TIMEOFF:
+            return hoursTimeoff;
+        case HOLIDAY:
+            return hoursHoliday;
+        case PAID_LEAVE:
+            return hoursPaidLeave;
+        default:
+            return 0;
+        }
+    }
+
+    /**
+     * Add hours to sum of work type.
+     * 
+     * @param workType
+     *            type of work
+     * @param hours
+     *            added hours (optional)
+     */
+    public void addHours(WorkTypeDTO workType, Double hours) {
+        if (workType == null || hours == null || hours <= 0) {
+            return;
+        }
+        plus(workType, hours.doubleValue());
+    }
+
+    private void plus(WorkTypeDTO workType, double hours) {
+        switch (workType) {
+        case WORK:
+            hoursWork += hours;
+            break;
+        case TRIP:
+            hoursTrip += hours;
+            break;
+        case SICKDAY:
+            hoursSickday += hours;
+            break;
+        case SICKNESS:
+            hoursSickness += hours;
+            break;
+        case TIMEOFF:
+            hoursTimeoff += hours;
+            break;
+        case HOLIDAY:
+            hoursHoliday += hours;
+            break;
+        case PAID_LEAVE:
+            hoursPaidLeave += hours;
+            break;
+        default:
+            break;
+        }
+    }
+
+    /**
+     * Reset sums of hours of all work types.
+     */
+    public void clearHours() {
+        hoursWork = 0;
+        hoursTrip = 0;
+        hoursSickday = 0;
+        hoursSickness = 0;
+        hoursTimeoff = 0;
+        hoursHoliday = 0;
+        hoursPaidLeave = 0;
+    }
+
+    /**
+     * Add hours of both work types of work.
+     * 
+     * @param work
+     *            work of day
+     */
+    public void add(Work work) {
+        addHours(work.getWorkType(), work.getHours());
+        addHours(work.getWorkType2(), work.getHours2());
+    }
+}
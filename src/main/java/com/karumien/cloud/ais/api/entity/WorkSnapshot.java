@@ -0,0 +1,62 @@
+/*
+ * Copyright (c) 2019-2029 Karumien s.r.o.
+ *
+ * Karumien s.r.o. is not responsible for defects arising from 
+ * unauthorized changes to the source code.
+ */
+package com.karumien.cloud.ais.api.entity;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+import javax.persistence.Basic;
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.FetchType;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.Lob;
+import javax.persistence.Table;
+import javax.persistence.TableGenerator;
+
+import lombok.Data;
+import lombok.ToString;
+
+/**
+ * WorkSnapshot entity - frozen work month of user (closed month), gzipped JSON of work month.
+ *
+ * @since 1.0, 18. 10. 2026 12:44:10
+ */
+@Entity
+@Table(name = "AIS_WORK_SNAPSHOT")
+@Data
+@ToString(exclude = "data")
+public class WorkSnapshot implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @Id @GeneratedValue(strategy=GenerationType.TABLE, generator="workSnapshotGenerator")
+    @TableGenerator(name="workSnapshotGenerator", table="AIS_SEQUENCE", pkColumnName="SEQ_NAME", valueColumnName="SEQ_VALUE", 
+        pkColumnValue="AIS_WORK_SNAPSHOT", allocationSize=50)
+    @Column(name = "ID")
+    private Long id;
+
+    @Column(name = "USERNAME", nullable = false, updatable = false)
+    private String username;
+
+    @Column(name = "YEAR", nullable = false, updatable = false)
+    private Integer year;
+
+    @Column(name = "MONTH", nullable = false, updatable = false)
+    private Integer month;
+
+    @Column(name = "CREATED", nullable = false)
+    private LocalDateTime created;
+
+    @Lob
+    @Basic(fetch = FetchType.LAZY)
+    @Column(name = "DATA", nullable = false)
+    private byte[] data;
+
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) 2019-2029 Karumien s.r.o.
+ *
+ * Karumien s.r.o. is not responsible for defects arising from
+ * unauthorized changes to the source code.
+ */
+package com.karumien.cloud.ais.config;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.support.SimpleCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.CacheLoader;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Cache Configuration - bounded Caffeine caches configured per cache name.
+ * <p>
+ * Example: {@code ais.cache.specs.works=maximumWeight=16384,expireAfterWrite=1h,recordStats}. Cache with
+ * {@code refreshAfterWrite} requires bean {@link CacheLoader} named {@code <cacheName>CacheLoader}.
+ *
+ * @since 1.0, 18. 10. 2026 9:02:15
+ */
+@Configuration
+@ConfigurationProperties(prefix = "ais.cache")
+@Getter
+@Setter
+public class CacheConfig {
+
+    /** Caffeine specification by cache name */
+    private Map<String, String> specs = new LinkedHashMap<>();
+
+    @Autowired(required = false)
+    private Map<String, CacheLoader<Object, Object>> loaders = new LinkedHashMap<>();
+
+    @Bean
+    public CacheManager cacheManager() {
+        List<CaffeineCache> caches = new ArrayList<>();
+        specs.forEach((name, spec) -> caches.add(new CaffeineCache(name, build(name, spec))));
+
+        SimpleCacheManager cacheManager = new SimpleCacheManager();
+        cacheManager.setCaches(caches);
+        return cacheManager;
+    }
+
+    private Cache<Object, Object> build(String name, String spec) {
+
+        Caffeine<Object, Object> builder = Caffeine.from(spec);
+        if (spec.contains("maximumWeight")) {
+            builder = builder.weigher(CacheConfig::weigh);
+        }
+
+        CacheLoader<Object, Object> loader = loaders.get(name + "CacheLoader");
+        if (loader != null) {
+            return builder.build(loader);
+        }
+
+        if (spec.contains("refreshAfterWrite")) {
+            throw new IllegalStateException("Cache " + name + " with refreshAfterWrite requires bean " + name + "CacheLoader");
+        }
+
+        return builder.build();
+    }
+
+    /**
+     * Weight of cached value - count of items of collection, kilobytes of binary data, 1 otherwise.
+     */
+    private static int weigh(Object key, Object value) {
+        if (value instanceof Collection) {
+            return Math.max(1, ((Collection<?>) value).size());
+        }
+        if (value instanceof byte[]) {
+            return 1 + ((byte[]) value).length / 1024;
+        }
+        return 1;
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright (c) 2019-2029 Karumien s.r.o.
+ *
+ * Karumien s.r.o. is not responsible for defects arising from
+ * unauthorized changes to the source code.
+ */
+package com.karumien.cloud.ais.config;
+
+import java.util.concurrent.TimeUnit;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.framework.Advised;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.repository.Repository;
+
+import com.karumien.cloud.ais.service.ServerTiming;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Repository Metrics Configuration - every call of Spring Data repository is timed as {@code ais.repository.call}
+ * (tags repository, method and outcome) and counted to {@link ServerTiming} of actual request.
+ *
+ * @since 1.0, 18. 10. 2026 16:45:19
+ */
+@Configuration
+public class RepositoryMetricsConfig {
+
+    @Bean
+    public static BeanPostProcessor repositoryMetricsPostProcessor(ObjectProvider<MeterRegistry> meterRegistry) {
+        return new BeanPostProcessor() {
+
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof Repository && bean instanceof Advised && !((Advised) bean).isFrozen()) {
+                    ((Advised) bean).addAdvice(new RepositoryTimer(beanName, meterRegistry));
+                }
+                return bean;
+            }
+        };
+    }
+
+    /**
+     * Timer of repository calls, registry is resolved on call (repositories are created before registry).
+     */
+    private static final class RepositoryTimer implements MethodInterceptor {
+
+        private final String repository;
+
+        private final ObjectProvider<MeterRegistry> meterRegistry;
+
+        private RepositoryTimer(String repository, ObjectProvider<MeterRegistry> meterRegistry) {
+            this.repository = repository;
+            this.meterRegistry = meterRegistry;
+        }
+
+        @Override
+        public Object invoke(MethodInvocation invocation) throws Throwable {
+            long started = System.nanoTime();
+            String outcome = "success";
+            try {
+                return invocation.proceed();
+            } catch (Throwable e) {
+                outcome = "error";
+                throw e;
+            } finally {
+                ServerTiming.record(ServerTiming.Metric.DB, started);
+                MeterRegistry registry = meterRegistry.getIfAvailable();
+                if (registry != null) {
+                    Timer.builder("ais.repository.call").tag("repository", repository).tag("method", invocation.getMethod().getName())
+                        .tag("outcome", outcome).register(registry).record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,47 @@
+/*
+ * Copyright (c) 2019-2029 Karumien s.r.o.
+ *
+ * Karumien s.r.o. is not responsible for defects arising from 
+ * unauthorized changes to the source code.
+ */
+package com.karumien.cloud.ais.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+
+/**
+ * Exception for operation not allowed for user.
+ *
+ * @since 1.0, 18. 10. 2026 12:41:52
+ */
+@Data
+@EqualsAndHashCode(callSuper = false, of = "code")
+@ResponseStatus(code = HttpStatus.FORBIDDEN)
+public class ForbiddenException extends RuntimeException {
+    
+    private static final long serialVersionUID = 1L;
+
+    private String code;
+    
+    public ForbiddenException() {
+    }
+
+    public ForbiddenException(String code, String message) {
+        super(message);
+        this.code = code;
+    }
+
+    public ForbiddenException(String code, Throwable cause) {
+        super(cause);
+        this.code = code;
+    }
+
+    public ForbiddenException(String code, String message, Throwable cause) {
+        super(message, cause);
+        this.code = code;
+    }
+
+}
@@ -0,0 +1,47 @@
+/*
+ * Copyright (c) 2019-2029 Karumien s.r.o.
+ *
+ * Karumien s.r.o. is not responsible for defects arising from
+ * unauthorized changes to the source code.
+ */
+package com.karumien.cloud.ais.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+
+/**
+ * Exception for unavailable backend service without usable fallback.
+ *
+ * @since 1.0, 18. 10. 2026 15:09:12
+ */
+@Data
+@EqualsAndHashCode(callSuper = false, of = "code")
+@ResponseStatus(code = HttpStatus.SERVICE_UNAVAILABLE)
+public class ServiceUnavailableException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    private String code;
+
+    public ServiceUnavailableException() {
+    }
+
+    public ServiceUnavailableException(String code, String message) {
+        super(message);
+        this.code = code;
+    }
+
+    public ServiceUnavailableException(String code, Throwable cause) {
+        super(cause);
+        this.code = code;
+    }
+
+    public ServiceUnavailableException(String code, String message, Throwable cause) {
+        super(message, cause);
+        this.code = code;
+    }
+
+}
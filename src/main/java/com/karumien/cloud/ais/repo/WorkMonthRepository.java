@@ -0,0 +1,34 @@
+/*
+ * Copyright (c) 2019-2029 Karumien s.r.o.
+ *
+ * Karumien s.r.o. is not responsible for defects arising from 
+ * unauthorized changes to the source code.
+ */
+package com.karumien.cloud.ais.repo;
+
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import com.karumien.cloud.ais.api.entity.WorkMonth;
+
+/**
+ * Repository for operations on {@link WorkMonth}.
+ *
+ * @since 1.0, 18. 10. 2026 12:16:05
+ */
+@Repository
+public interface WorkMonthRepository extends JpaRepository<WorkMonth, Long> {
+
+    /**
+     * Find summary of user in specified month.
+     * 
+     * @param username specific user
+     * @param year     year of month
+     * @param month    month
+     * @return {@link Optional} of {@link WorkMonth} summary
+     */
+    Optional<WorkMonth> findByUsernameAndYearAndMonth(String username, Integer year, Integer month);
+
+}
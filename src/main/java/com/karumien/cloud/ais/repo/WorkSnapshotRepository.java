@@ -0,0 +1,50 @@
+/*
+ * Copyright (c) 2019-2029 Karumien s.r.o.
+ *
+ * Karumien s.r.o. is not responsible for defects arising from 
+ * unauthorized changes to the source code.
+ */
+package com.karumien.cloud.ais.repo;
+
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.karumien.cloud.ais.api.entity.WorkSnapshot;
+
+/**
+ * Repository for operations on {@link WorkSnapshot}.
+ *
+ * @since 1.0, 18. 10. 2026 12:46:31
+ */
+@Repository
+public interface WorkSnapshotRepository extends JpaRepository<WorkSnapshot, Long> {
+
+    /**
+     * Find frozen work month of user.
+     * 
+     * @param username specific user
+     * @param year     year of month
+     * @param month    month
+     * @return {@link Optional} of {@link WorkSnapshot} frozen work month
+     */
+    Optional<WorkSnapshot> findByUsernameAndYearAndMonth(String username, Integer year, Integer month);
+
+    /**
+     * Remove frozen work month of user.
+     * 
+     * @param username specific user
+     * @param year     year of month
+     * @param month    month
+     * @return count of removed snapshots
+     */
+    @Modifying
+    @Query(value = "delete from WorkSnapshot s where s.username = :username and s.year = :year and s.month = :month")
+    int deleteByUsernameAndYearAndMonth(@Param("username") String username, @Param("year") Integer year, 
+            @Param("month") Integer month);
+
+}
@@ -0,0 +1,419 @@
+/*
+ * Copyright (c) 2019-2029 Karumien s.r.o.
+ *
+ * Karumien s.r.o. is not responsible for defects arising from
+ * unauthorized changes to the source code.
+ */
+package com.karumien.cloud.ais.service;
+
+import java.time.OffsetDateTime;
+import java.time.YearMonth;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.servlet.http.HttpServletResponse;
+import javax.xml.datatype.XMLGregorianCalendar;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import com.karumien.client.adochazka.schemas.CustomerDataDen;
+import com.karumien.client.adochazka.schemas.Pristup;
+import com.karumien.client.adochazka.schemas.Uzivatel;
+import com.karumien.client.adochazka.service.ADochazkaService;
+import com.karumien.cloud.ais.exception.ServiceUnavailableException;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Single access point to {@link ADochazkaService} - concurrent identical calls (same operation and arguments) are
+ * coalesced into one remote call and its result is shared by all callers.
+ * <p>
+ * Shared results must be treated as read-only.
+ * <p>
+ * Remote calls are bounded by per-operation timeout and by bulkhead (max. concurrent calls, hanging call keeps its
+ * permit until it really ends), repeated failures open {@link CircuitBreaker}. Failed or rejected call is served by last
+ * good result of the same call marked as stale ({@code Warning} header of actual response), without last good result
+ * {@link ServiceUnavailableException} is thrown. Callers persisting remote data get {@link Result} and must not store
+ * stale result as final.
+ * <p>
+ * Metrics: {@code ais.adochazka.call} (timer by operation and outcome), {@code ais.adochazka.rejected},
+ * {@code ais.adochazka.fallback}, gauges of running calls, free bulkhead permits and circuit state.
+ *
+ * @since 1.0, 18. 10. 2026 10:11:26
+ */
+@Component
+@Slf4j
+public class ADochazkaGateway {
+
+    private static final String STALE_WARNING = "110 - \"Response is Stale\"";
+
+    @Autowired
+    private ADochazkaService aDochazkaService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${ais.adochazka.timeout.workers-map:10000}")
+    private long timeoutWorkersMap;
+
+    @Value("${ais.adochazka.timeout.accesses:10000}")
+    private long timeoutAccesses;
+
+    @Value("${ais.adochazka.timeout.work-month:10000}")
+    private long timeoutWorkMonth;
+
+    @Value("${ais.adochazka.bulkhead.max-concurrent:8}")
+    private int maxConcurrent;
+
+    @Value("${ais.adochazka.bulkhead.max-wait:500}")
+    private long maxWait;
+
+    @Value("${ais.adochazka.bulkhead.range-parallelism:4}")
+    private int rangeParallelism;
+
+    @Value("${ais.adochazka.circuit.failure-threshold:5}")
+    private int failureThreshold;
+
+    @Value("${ais.adochazka.circuit.open-duration:30000}")
+    private long openDuration;
+
+    @Value("${ais.adochazka.last-good.size:5000}")
+    private long lastGoodSize;
+
+    private final SingleFlight singleFlight = new SingleFlight();
+
+    private ExecutorService executor;
+
+    private Semaphore bulkhead;
+
+    private CircuitBreaker circuitBreaker;
+
+    private Cache<String, Object> lastGood;
+
+    @PostConstruct
+    public void init() {
+        executor = Executors.newCachedThreadPool(new CustomizableThreadFactory("ais-adochazka-"));
+        bulkhead = new Semaphore(maxConcurrent);
+        circuitBreaker = new CircuitBreaker(failureThreshold, openDuration);
+        lastGood = Caffeine.newBuilder().maximumSize(lastGoodSize).recordStats().build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, lastGood, "adochazkaLastGood");
+        Gauge.builder("ais.adochazka.running", singleFlight, SingleFlight::getRunning).register(meterRegistry);
+        Gauge.builder("ais.adochazka.bulkhead.available", bulkhead, Semaphore::availablePermits).register(meterRegistry);
+        Gauge.builder("ais.adochazka.circuit.state", circuitBreaker, breaker -> breaker.getState().ordinal())
+            .description("0 closed, 1 open, 2 half open").register(meterRegistry);
+    }
+
+    @PreDestroy
+    public void destroy() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Returns all workers by user code.
+     *
+     * @return {@link Map} of {@link Uzivatel} by user code
+     */
+    public Map<String, Uzivatel> getWorkersMap() {
+        return execute("workersMap", timeoutWorkersMap, () -> aDochazkaService.getWorkersMap());
+    }
+
+    /**
+     * Returns accesses from selected time (start of day or time of last known access).
+     *
+     * @param from
+     *            first time of accesses
+     * @return {@link Result} with {@link List} of {@link Pristup}
+     */
+    public Result<List<Pristup>> getAccesses(OffsetDateTime from) {
+        return fetch("accesses:" + from, timeoutAccesses, () -> aDochazkaService.getAccesses(from));
+    }
+
+    /**
+     * Returns work month of selected user by day of month.
+     *
+     * @param year
+     *            year of work month
+     * @param month
+     *            month of work month
+     * @param userId
+     *            ADochazka user ID
+     * @return {@link Result} with {@link Map} of {@link CustomerDataDen} by day of month
+     */
+    public Result<Map<Integer, CustomerDataDen>> getWorkMonthMap(Integer year, Integer month, Integer userId) {
+        return fetch(workMonthKey(year, month, userId), timeoutWorkMonth,
+            () -> aDochazkaService.getWorkMonthMap(year, month, userId));
+    }
+
+    /**
+     * Returns work months of selected user in one call - months are fetched concurrently (ADochazka has no range
+     * call), each month shares single flight, bulkhead and last good result with {@link #getWorkMonthMap}. Months are
+     * fetched in chunks of {@code range-parallelism} (always less than bulkhead size), one range never fills the
+     * bulkhead for other requests.
+     *
+     * @param months
+     *            months of range
+     * @param userId
+     *            ADochazka user ID
+     * @return {@link Map} of {@link Result} with work months (by day of month) in order of months
+     */
+    @SuppressWarnings("unchecked")
+    public Map<YearMonth, Result<Map<Integer, CustomerDataDen>>> getWorkMonthMaps(List<YearMonth> months, Integer userId) {
+
+        long started = System.nanoTime();
+        int chunk = Math.max(1, Math.min(rangeParallelism, maxConcurrent - 1));
+        Map<YearMonth, Result<Map<Integer, CustomerDataDen>>> workMonthMaps = new LinkedHashMap<>();
+        boolean stale = false;
+        try {
+            for (int from = 0; from < months.size(); from += chunk) {
+                Map<YearMonth, Future<Result<Object>>> calls = new LinkedHashMap<>();
+                try {
+                    for (YearMonth month : months.subList(from, Math.min(from + chunk, months.size()))) {
+                        String key = workMonthKey(month.getYear(), month.getMonthValue(), userId);
+                        calls.put(month, executor.submit(() -> singleFlight.execute(key,
+                            () -> guarded(key, timeoutWorkMonth,
+                                () -> aDochazkaService.getWorkMonthMap(month.getYear(), month.getMonthValue(), userId)))));
+                    }
+
+                    for (Map.Entry<YearMonth, Future<Result<Object>>> call : calls.entrySet()) {
+                        Result<Object> result = join(call.getValue());
+                        stale |= result.stale;
+                        workMonthMaps.put(call.getKey(), (Result<Map<Integer, CustomerDataDen>>) (Result<?>) result);
+                    }
+                } catch (RuntimeException e) {
+                    calls.values().forEach(call -> call.cancel(false));
+                    throw e;
+                }
+            }
+            if (stale) {
+                markStale();
+            }
+            return workMonthMaps;
+        } finally {
+            ServerTiming.record(ServerTiming.Metric.ADOCHAZKA, started);
+        }
+    }
+
+    /**
+     * Converts ADochazka date.
+     *
+     * @param date
+     *            ADochazka date
+     * @return {@link OffsetDateTime} converted date
+     */
+    public OffsetDateTime toOffsetDateTime(XMLGregorianCalendar date) {
+        return aDochazkaService.toOffsetDateTime(date);
+    }
+
+    /**
+     * Returns count of remote calls running now.
+     *
+     * @return count of remote calls running now
+     */
+    public int getRunning() {
+        return singleFlight.getRunning();
+    }
+
+    /**
+     * Returns actual state of circuit breaker.
+     *
+     * @return {@link CircuitBreaker.State} actual state
+     */
+    public CircuitBreaker.State getCircuitState() {
+        return circuitBreaker.getState();
+    }
+
+    private <T> T execute(String key, long timeout, Supplier<T> call) {
+        return fetch(key, timeout, call).getValue();
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> Result<T> fetch(String key, long timeout, Supplier<T> call) {
+        long started = System.nanoTime();
+        Result<Object> result;
+        try {
+            result = singleFlight.execute(key, () -> guarded(key, timeout, call));
+        } finally {
+            ServerTiming.record(ServerTiming.Metric.ADOCHAZKA, started);
+        }
+        if (result.stale) {
+            markStale();
+        }
+        return (Result<T>) (Result<?>) result;
+    }
+
+    private static Result<Object> join(Future<Result<Object>> call) {
+        try {
+            return call.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ServiceUnavailableException("ADOCHAZKA.UNAVAILABLE", "ADochazka call interrupted", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new ServiceUnavailableException("ADOCHAZKA.UNAVAILABLE", "ADochazka call failed", e.getCause());
+        }
+    }
+
+    private static String workMonthKey(Integer year, Integer month, Integer userId) {
+        return "workMonth:" + year + ":" + month + ":" + userId;
+    }
+
+    private Result<Object> guarded(String key, long timeout, Supplier<?> call) {
+
+        String operation = operation(key);
+        if (!circuitBreaker.allow()) {
+            meterRegistry.counter("ais.adochazka.rejected", "operation", operation, "reason", "circuit-open").increment();
+            return fallback(key, "circuit open", null);
+        }
+
+        try {
+            if (!bulkhead.tryAcquire(maxWait, TimeUnit.MILLISECONDS)) {
+                // local saturation is not failure of ADochazka
+                meterRegistry.counter("ais.adochazka.rejected", "operation", operation, "reason", "bulkhead-full").increment();
+                circuitBreaker.onRejected();
+                return fallback(key, "bulkhead full", null);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            circuitBreaker.onRejected();
+            return fallback(key, "interrupted", e);
+        }
+
+        long started = System.nanoTime();
+        Future<?> future;
+        try {
+            future = executor.submit(() -> {
+                try {
+                    return call.get();
+                } finally {
+                    bulkhead.release();
+                }
+            });
+        } catch (RuntimeException e) {
+            bulkhead.release();
+            circuitBreaker.onRejected();
+            return fallback(key, "rejected", e);
+        }
+
+        try {
+            Object value = future.get(timeout, TimeUnit.MILLISECONDS);
+            record(operation, "success", started);
+            circuitBreaker.onSuccess();
+            if (value != null) {
+                lastGood.put(key, value);
+            }
+            return new Result<>(value, false);
+        } catch (TimeoutException e) {
+            // call is not cancelled, it keeps its bulkhead permit until it really ends
+            record(operation, "timeout", started);
+            circuitBreaker.onFailure();
+            return fallback(key, "timeout " + timeout + " ms", e);
+        } catch (ExecutionException e) {
+            record(operation, "error", started);
+            circuitBreaker.onFailure();
+            return fallback(key, String.valueOf(e.getCause()), e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            circuitBreaker.onFailure();
+            return fallback(key, "interrupted", e);
+        }
+    }
+
+    private Result<Object> fallback(String key, String reason, Throwable cause) {
+        Object value = lastGood.getIfPresent(key);
+        meterRegistry.counter("ais.adochazka.fallback", "operation", operation(key), "result", value == null ? "unavailable" : "stale")
+            .increment();
+        if (value == null) {
+            throw new ServiceUnavailableException("ADOCHAZKA.UNAVAILABLE", "ADochazka call " + key + " failed: " + reason, cause);
+        }
+
+        log.warn("ADochazka call {} failed ({}), last good result used", key, reason);
+        return new Result<>(value, true);
+    }
+
+    private void record(String operation, String outcome, long started) {
+        Timer.builder("ais.adochazka.call").tag("operation", operation).tag("outcome", outcome).register(meterRegistry)
+            .record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Operation of call key (without arguments).
+     */
+    private static String operation(String key) {
+        int arguments = key.indexOf(':');
+        return arguments < 0 ? key : key.substring(0, arguments);
+    }
+
+    /**
+     * Mark actual response as stale, calls outside of request (background refresh) are not marked.
+     */
+    private static void markStale() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes instanceof ServletRequestAttributes) {
+            HttpServletResponse response = ((ServletRequestAttributes) attributes).getResponse();
+            if (response != null && !response.isCommitted() && !response.containsHeader(HttpHeaders.WARNING)) {
+                response.addHeader(HttpHeaders.WARNING, STALE_WARNING);
+            }
+        }
+    }
+
+    /**
+     * Result of remote call or its last good result (stale), stale result must not be persisted as final.
+     */
+    public static final class Result<T> {
+
+        private final T value;
+
+        private final boolean stale;
+
+        private Result(T value, boolean stale) {
+            this.value = value;
+            this.stale = stale;
+        }
+
+        /**
+         * Returns value of remote call.
+         *
+         * @return value of remote call or its last good result
+         */
+        public T getValue() {
+            return value;
+        }
+
+        /**
+         * Returns {@code true} when remote call failed and last good result is used.
+         *
+         * @return {@code true} for last good result
+         */
+        public boolean isStale() {
+            return stale;
+        }
+    }
+}
@@ -11,24 +11,25 @@ import java.io.OutputStream;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.OffsetDateTime;
+import java.time.YearMonth;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
 
 import javax.validation.Valid;
 import javax.validation.constraints.NotNull;
 
-import org.apache.poi.ss.usermodel.Workbook;
 import org.springframework.data.domain.Page;
 
 import com.karumien.client.adochazka.schemas.Uzivatel;
-import com.karumien.cloud.ais.api.entity.UserInfo;
 import com.karumien.cloud.ais.api.entity.ViewPass;
 import com.karumien.cloud.ais.api.model.PassDTO;
 import com.karumien.cloud.ais.api.model.UserInfoDTO;
 import com.karumien.cloud.ais.api.model.WorkDTO;
+import com.karumien.cloud.ais.api.model.WorkDayDTO;
 import com.karumien.cloud.ais.api.model.WorkDayTypeDTO;
 import com.karumien.cloud.ais.api.model.WorkHourDTO;
 import com.karumien.cloud.ais.api.model.WorkMonthDTO;
+import com.karumien.cloud.ais.api.model.WorkRangeDTO;
 import com.karumien.cloud.ais.api.model.WorkTypeDTO;
 
 /**
@@ -173,6 +174,67 @@ public interface AISService {
      */
     WorkMonthDTO getWorkDays(Integer year, Integer month, @NotNull @Valid String username);
 
+    /**
+     * Return work months of range (quarter, year) with totals of range for specified user, works of range are loaded
+     * at once and ADochazka months are fetched together.
+     * 
+     * @param yearFrom
+     *            year of first month (default actual year)
+     * @param monthFrom
+     *            first month (default January)
+     * @param yearTo
+     *            year of last month (default year of first month)
+     * @param monthTo
+     *            last month (default actual month in actual year, December otherwise)
+     * @param username
+     *            username records
+     * @return {@link WorkRangeDTO} work months and totals of range
+     */
+    WorkRangeDTO getWorkRange(Integer yearFrom, Integer monthFrom, Integer yearTo, Integer monthTo, @NotNull @Valid String username);
+
+    /**
+     * Recompute closed month of user and freeze it again, accesses of month (all users) are downloaded again.
+     * 
+     * @param role
+     *            username of admin
+     * @param year
+     *            year of work month
+     * @param month
+     *            month of work month
+     * @param username
+     *            selected user
+     * @return {@link WorkMonthDTO} recomputed work month
+     */
+    WorkMonthDTO recomputeWorkMonth(@NotNull String role, @NotNull Integer year, @NotNull Integer month, @NotNull String username);
+
+    /**
+     * Closed month (older than previous month) is read-only and frozen after first computation.
+     * 
+     * @param year
+     *            year of work month
+     * @param month
+     *            month of work month
+     * @return {@code true} when month is closed
+     */
+    default boolean isClosedMonth(Integer year, Integer month) {
+        return YearMonth.of(year, month).isBefore(YearMonth.now().minusMonths(1));
+    }
+
+    /**
+     * Return summary of work month (without workdays) of specified user, read from stored month summary when present.
+     * Actual month is always computed (on site days change every day), previous open month has on site days of its last
+     * computation.
+     * 
+     * @param year
+     *            year of work month
+     * @param month
+     *            year of work month
+     * @param username
+     *            username records
+     * @return {@link WorkMonthDTO} summary of work month of specified user
+     */
+    WorkMonthDTO getWorkSummary(Integer year, Integer month, @NotNull @Valid String username);
+
     /**
      * Return known users list,
      * 
@@ -188,7 +250,7 @@ public interface AISService {
      *            username
      * @return {@link UserInfoDTO} selected user by {@code username}
      */
-    UserInfo getUser(@Valid String username);
+    UserInfoDTO getUser(@Valid String username);
 
     /**
      * Export workdays to excel sheet
@@ -201,11 +263,28 @@ public interface AISService {
      *            username records
      * @param out
      *            {@link OutputStream} for data write
-     * @return {@link Workbook} excel export
      * @throws IOException
      *             on I/O error
      */
-    Workbook exportWorkDays(Integer year, Integer month, @NotNull @Valid String username, OutputStream out) throws IOException;
+    void exportWorkDays(Integer year, Integer month, @NotNull @Valid String username, OutputStream out) throws IOException;
+
+    /**
+     * Export work months of more users to one excel workbook (sheet per user) or zip of workbooks (file per user).
+     * 
+     * @param year
+     *            year of work month
+     * @param month
+     *            month of work month
+     * @param workMonths
+     *            computed work months with filled user info
+     * @param zip
+     *            {@code true} for zip of workbooks
+     * @param out
+     *            {@link OutputStream} for data write
+     * @throws IOException
+     *             on I/O error
+     */
+    void exportWorkDays(Integer year, Integer month, List<WorkMonthDTO> workMonths, boolean zip, OutputStream out) throws IOException;
 
     /**
      * Update work of selected user.
@@ -221,6 +300,29 @@ public interface AISService {
         return workType == WorkTypeDTO.WORK || workType == WorkTypeDTO.SICKNESS || workType == WorkTypeDTO.TRIP;
     }
 
+    /**
+     * Returns saldo of day with holiday correction (hours of holiday and paid leave are not missing hours).
+     *
+     * @param workDay
+     *            computed work day
+     * @return saldo of day in hours
+     */
+    default double saldo(WorkDayDTO workDay) {
+        double saldo = workDay.getSaldo() != null ? workDay.getSaldo() : 0;
+
+        WorkDTO work = workDay.getWork();
+        if (work == null) {
+            return saldo;
+        }
+        if (work.getWorkType() == WorkTypeDTO.HOLIDAY || work.getWorkType() == WorkTypeDTO.PAID_LEAVE) {
+            saldo += work.getHours() != null ? work.getHours() : 0;
+        }
+        if (work.getWorkType2() == WorkTypeDTO.HOLIDAY || work.getWorkType2() == WorkTypeDTO.PAID_LEAVE) {
+            saldo += work.getHours2() != null ? work.getHours2() : 0;
+        }
+        return saldo;
+    }
+
     Uzivatel getUzivatel(String username);
     List<PassDTO> getAccesses(LocalDate day, String cisloUzivatele);
 
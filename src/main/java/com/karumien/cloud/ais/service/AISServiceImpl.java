@@ -6,26 +6,30 @@
  */
 package com.karumien.cloud.ais.service;
 
+import java.io.FilterOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.time.DayOfWeek;
+import java.time.Instant;
 import java.time.LocalDate;
 import java.time.OffsetDateTime;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
 import java.time.temporal.ChronoUnit;
 import java.time.temporal.TemporalAdjusters;
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Collections;
-import java.util.Comparator;
 import java.util.EnumMap;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.Set;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
 
 import javax.validation.Valid;
 import javax.validation.constraints.NotNull;
@@ -45,6 +49,8 @@ import org.apache.poi.ss.usermodel.Row;
 import org.apache.poi.ss.usermodel.Sheet;
 import org.apache.poi.ss.usermodel.Workbook;
 import org.apache.poi.ss.util.CellRangeAddress;
+import org.apache.poi.ss.util.WorkbookUtil;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
 import org.apache.poi.xssf.usermodel.XSSFCellStyle;
 import org.apache.poi.xssf.usermodel.XSSFColor;
 import org.apache.poi.xssf.usermodel.XSSFSheet;
@@ -52,11 +58,21 @@ import org.apache.poi.xssf.usermodel.XSSFWorkbook;
 import org.modelmapper.ModelMapper;
 import org.openxmlformats.schemas.spreadsheetml.x2006.main.CTSheetProtection;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.cache.annotation.Cacheable;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.util.StringUtils;
 
 import com.google.common.base.Objects;
@@ -67,14 +83,10 @@ import com.itextpdf.text.pdf.PdfPCell;
 import com.itextpdf.text.pdf.PdfPTable;
 import com.itextpdf.text.pdf.PdfWriter;
 import com.karumien.client.adochazka.schemas.CustomerDataDen;
-import com.karumien.client.adochazka.schemas.Oddeleni;
-import com.karumien.client.adochazka.schemas.Pristup;
-import com.karumien.client.adochazka.schemas.Pritomnost;
 import com.karumien.client.adochazka.schemas.Uzivatel;
-import com.karumien.client.adochazka.service.ADochazkaService;
-import com.karumien.cloud.ais.api.entity.UserInfo;
 import com.karumien.cloud.ais.api.entity.ViewPass;
 import com.karumien.cloud.ais.api.entity.Work;
+import com.karumien.cloud.ais.api.entity.WorkMonth;
 import com.karumien.cloud.ais.api.model.PassDTO;
 import com.karumien.cloud.ais.api.model.UserInfoDTO;
 import com.karumien.cloud.ais.api.model.WorkDTO;
@@ -82,12 +94,18 @@ import com.karumien.cloud.ais.api.model.WorkDayDTO;
 import com.karumien.cloud.ais.api.model.WorkDayTypeDTO;
 import com.karumien.cloud.ais.api.model.WorkHourDTO;
 import com.karumien.cloud.ais.api.model.WorkMonthDTO;
+import com.karumien.cloud.ais.api.model.WorkRangeDTO;
 import com.karumien.cloud.ais.api.model.WorkTypeDTO;
+import com.karumien.cloud.ais.exception.BadRequestException;
+import com.karumien.cloud.ais.exception.ForbiddenException;
 import com.karumien.cloud.ais.exception.NoDataFoundException;
 import com.karumien.cloud.ais.repo.UserInfoRepository;
 import com.karumien.cloud.ais.repo.ViewPassRepository;
+import com.karumien.cloud.ais.repo.WorkMonthRepository;
 import com.karumien.cloud.ais.repo.WorkRepository;
 
+import io.micrometer.core.instrument.MeterRegistry;
+
 /**
  * Service implements {@link AISService}.
  *
@@ -109,15 +127,48 @@ public class AISServiceImpl implements AISService {
     @Autowired
     private WorkRepository workRepository;
 
+    @Autowired
+    private WorkMonthRepository workMonthRepository;
+
+    @Autowired
+    private WorkSnapshotStore workSnapshotStore;
+
     @Autowired
     private UserInfoRepository userInfoRepository;
 
     @Autowired
-    private ADochazkaService aDochazkaService;
+    private ADochazkaGateway aDochazkaGateway;
+
+    @Autowired
+    private AccessIndex accessIndex;
+
+    @Autowired
+    private PresenceBoard presenceBoard;
+
+    @Autowired
+    private EmployeeDirectory employeeDirectory;
 
     @Autowired
     private ModelMapper mapper;
 
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Value("${ais.export.streaming:true}")
+    private boolean exportStreaming;
+
+    @Value("${ais.export.window:100}")
+    private int exportWindow;
+
+    @Value("${ais.work.range.max-months:24}")
+    private int rangeMaxMonths;
+
     /** National Holidays */
     private static final List<LocalDate> NATIONAL_HOLIDAYS = Arrays.asList(LocalDate.of(2019, 5, 1),
         LocalDate.of(2019, 5, 8), LocalDate.of(2019, 7, 5), LocalDate.of(2019, 10, 28), 
@@ -141,7 +192,7 @@ public class AISServiceImpl implements AISService {
         TRANSLATES.put("CIPOVA_KARTA", "Čip");
     }
 
-    private static final Map<Integer, String> KEYBOARD = new HashMap<>();
+    static final Map<Integer, String> KEYBOARD = new HashMap<>();
     static {
         KEYBOARD.put(Integer.valueOf(0), "<neznámý>");
         KEYBOARD.put(Integer.valueOf(1), "Příchod");
@@ -165,46 +216,8 @@ public class AISServiceImpl implements AISService {
      * {@inheritDoc}
      */
     @Override
-    @Transactional(readOnly = true)
-    @Cacheable(value = "online")
     public List<PassDTO> getPassOnsite() {
-        
-        List<PassDTO> onsite = new ArrayList<>(); 
-        Set<Integer> ids = new HashSet<>();
-        
-        for (Pritomnost p : aDochazkaService.getActualWorkers()) {
-            
-            UserInfoDTO user = new UserInfoDTO();
-            user.setName(p.getUzivatelJmeno().getValue() + " " + gdpr(p.getUzivatelPrijmeni().getValue()));
-            user.setCode(toInt(p.getUzivatelCislo().getValue()));
-            user.setId(user.getCode());            
-            user.setDepartment(p.getOddeleniString().getValue());
-
-            ids.add(user.getId());
-            
-            PassDTO pass = new PassDTO();
-            pass.setDate(aDochazkaService.toOffsetDateTime(p.getPrichod().getValue()));
-            pass.setCategory(toCategory(p.getCinnostNazev().getValue()));
-            pass.setCategoryId(toCategoryId(p.getCinnostNazev().getValue()));
-            pass.setPerson(user);
-
-            onsite.add(pass);
-        }
-
-        onsite.addAll(findAllLeaved().stream().filter(u -> !ids.contains(u.getPerson().getId())).collect(Collectors.toList()));
-        
-        Collections.sort(onsite, new Comparator<PassDTO>() {
-
-            @Override
-            public int compare(PassDTO o1, PassDTO o2) {
-                if (!o1.getCategoryId().equals(o2.getCategoryId())) {
-                    return o1.getCategoryId().compareTo(o2.getCategoryId());
-                }
-                return o1.getDate().compareTo(o2.getDate());
-            }
-            
-        });
-        return onsite;
+        return presenceBoard.getOnsite();
     }
 
     /**
@@ -212,104 +225,54 @@ public class AISServiceImpl implements AISService {
      */
     @Override
     public List<PassDTO> getAccesses(LocalDate day, String username) {        
+        return getAccesses(day, getUzivatel(username));
+    }
 
-        OffsetDateTime today = day.atStartOfDay().atOffset(OffsetDateTime.now().getOffset());
+    private List<PassDTO> getAccesses(LocalDate day, Uzivatel uzivatel) {        
 
-        Uzivatel uzivatel = getUzivatel(username);
         List<PassDTO> passes = new ArrayList<>();
         
         if (uzivatel == null || uzivatel.getId() == null) {
             return passes;
         }
                 
-        // FIXME: Performance - dayTo + typ cinnosti
-        List<Pristup> pristupy = aDochazkaService.getAccesses(today)
-            .stream().filter(p -> !p.getUzivatelId().isNil() && p.getUzivatelId().getValue().equals(uzivatel.getId()))
-            .filter(p -> p.getDatum().getYear() == day.getYear() && p.getDatum().getMonth() == day.getMonthValue() && p.getDatum().getDay() == day.getDayOfMonth())
-            .collect(Collectors.toList());
-        
-        for (Pristup pristup : pristupy) {
+        for (AccessEvent access : accessIndex.getAccesses(day, uzivatel.getId())) {
             
             UserInfoDTO user = new UserInfoDTO();
             user.setName(uzivatel.getJmeno().getValue() + " " + gdpr(uzivatel.getPrijmeni().getValue()));
             user.setCode(uzivatel.getId());
             user.setId(user.getCode());
             
-            Oddeleni oddeleni = uzivatel.getOddeleni().getValue().getOddeleni().stream().findFirst().orElse(null); 
-            user.setDepartment(oddeleni != null ? oddeleni.getNazev().getValue(): "");
+            user.setDepartment(EmployeeDirectory.departmentOf(uzivatel));
                         
             PassDTO pass = new PassDTO();
-            pass.setId(pristup.getId());
-            pass.setDate(aDochazkaService.toOffsetDateTime(pristup.getDatum()));
+            pass.setId(access.getId());
+            pass.setDate(access.getDate());
             
-            Integer klavesa = pristup.getKlavesa1().isNil() ? 0 : pristup.getKlavesa1().getValue();
+            Integer klavesa = access.getKey() == null ? 0 : access.getKey();
             pass.setCategoryId(klavesa);
             pass.setCategory(KEYBOARD.get(klavesa));
             pass.setPerson(user);
-            pass.setChip(TRANSLATES.get(pristup.getTypVerifikace().toString()));
+            pass.setChip(TRANSLATES.get(access.getVerification()));
             passes.add(pass);
         }                    
                     
         return passes;
     }
         
-    public List<PassDTO> findAllLeaved() {
-        
-        OffsetDateTime today = LocalDate.now().atStartOfDay().atOffset(OffsetDateTime.now().getOffset());
-        Map<String, Uzivatel> users = aDochazkaService.getWorkersMap();
-        
-        List<PassDTO> found = new ArrayList<>();
-        
-        List<Pristup> accesses = aDochazkaService.getAccesses(today);
-        Collections.reverse(accesses);
-        Set<String> ids = new HashSet<>();
-
-        for (Pristup p : accesses) {
-
-            String id = p.getCisloUzivatele().getValue();            
-            if (!p.getKlavesa1().isNil() && p.getKlavesa1().getValue() != 1 && !ids.contains(id)) {
-            
-                ids.add(id);
-                Uzivatel u = users.get(id);
-                
-                UserInfoDTO user = new UserInfoDTO();
-                user.setName(u.getJmeno().getValue() + " " + gdpr(u.getPrijmeni().getValue()));
-                user.setCode(toInt(id));
-                user.setId(user.getCode());
-                
-                Oddeleni oddeleni = u.getOddeleni().getValue().getOddeleni().stream().findFirst().orElse(null); 
-                user.setDepartment(oddeleni != null ? oddeleni.getNazev().getValue(): "");
-            
-                PassDTO pass = new PassDTO();
-                
-                pass.setDate(aDochazkaService.toOffsetDateTime(p.getDatum()));
-                pass.setCategoryId(p.getKlavesa1().getValue());
-                pass.setCategory(KEYBOARD.get(p.getKlavesa1().getValue()));
-//                pass.setCategory(toCategory("Odchod"));
-//                pass.setCategoryId(120);
-                pass.setPerson(user);
-    
-                found.add(pass);
-            }            
-        }
-        
-        return found;
-        
-    }
-
-    private static String gdpr(String value) {
+    static String gdpr(String value) {
         return value == null ? null : value.substring(0, 1) + (value.contains("ö") ? "ö" : "") + ".";
     }
 
-    private static String toCategory(String value) {
+    static String toCategory(String value) {
         return TRANSLATES.containsKey(value) ? TRANSLATES.get(value) : value; 
     }
 
-    private static Integer toCategoryId(String value) {
+    static Integer toCategoryId(String value) {
         return "Prace".equals(value) ? 1 : 100;
     }
 
-    private static Integer toInt(String value) {
+    static Integer toInt(String value) {
         try {
             if (value != null) {
                 return Integer.valueOf(value);
@@ -335,8 +298,8 @@ public class AISServiceImpl implements AISService {
     @Override
     @Transactional(readOnly = true)
     public Uzivatel getUzivatel(String username) {
-        UserInfo user = getUser(username);
-        return aDochazkaService.getWorkersMap().get("" + user.getCode());
+        Uzivatel uzivatel = employeeDirectory.getByUsername(username);
+        return uzivatel != null ? uzivatel : employeeDirectory.getByCode(getUser(username).getCode());
     }
     
     /**
@@ -345,6 +308,10 @@ public class AISServiceImpl implements AISService {
     @Override
     @Transactional
     public WorkMonthDTO getWorkDays(Integer year, Integer month, @NotNull @Valid String username) {
+        return getWorkDays(year, month, username, true);
+    }
+
+    private WorkMonthDTO getWorkDays(Integer year, Integer month, String username, boolean frozen) {
 
         if (year == null) {
             year = LocalDate.now().getYear();
@@ -354,34 +321,256 @@ public class AISServiceImpl implements AISService {
             month = LocalDate.now().getMonthValue();
         }
 
-        WorkMonthDTO workMonth = new WorkMonthDTO();
-        workMonth.setUserInfo(new UserInfoDTO());
-        workMonth.getUserInfo().setUsername(username);
-        workMonth.setMonth(month);
-        workMonth.setYear(year);
+        // closed month served from snapshot without remote calls
+        if (frozen && isClosedMonth(year, month)) {
+            WorkMonthDTO snapshot = workSnapshotStore.get(username, year, month);
+            if (snapshot != null) {
+                return snapshot;
+            }
+        }
 
         LocalDate dateFrom = LocalDate.of(year, month, 1);
         LocalDate dateTo = dateFrom.with(TemporalAdjusters.lastDayOfMonth());
 
+        ServerTiming.startCompute();
+        long phase = System.nanoTime();
         List<Work> works = workRepository.findByUsernameAndDateRange(username, dateFrom, dateTo);
+        phase = monthPhase("db-load", phase);
+
+        Uzivatel uzivatel = getUzivatel(username);
+        
+        ADochazkaGateway.Result<Map<Integer, CustomerDataDen>> remote =
+            uzivatel == null ? null : aDochazkaGateway.getWorkMonthMap(year, month, uzivatel.getId());
+        Map<Integer, CustomerDataDen> workMonthMap = remote == null ? new HashMap<>() : remote.getValue();
+        phase = monthPhase("remote-month", phase);
+
+        // accesses of days without departure (fix last) in one request
+        accessIndex.prefetch(getMissingDepartures(YearMonth.of(year, month), workMonthMap));
+        phase = monthPhase("remote-accesses", phase);
+
+        WorkMonthDTO workMonth = computeWorkMonth(YearMonth.of(year, month), username, uzivatel, works, workMonthMap,
+            remote != null && remote.isStale(), phase);
+        ServerTiming.endCompute();
+        return workMonth;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional
+    public WorkRangeDTO getWorkRange(Integer yearFrom, Integer monthFrom, Integer yearTo, Integer monthTo,
+            @NotNull @Valid String username) {
+
+        YearMonth actual = YearMonth.now();
+        if (yearFrom == null) {
+            yearFrom = actual.getYear();
+        }
+        if (monthFrom == null) {
+            monthFrom = 1;
+        }
+        if (yearTo == null) {
+            yearTo = yearFrom;
+        }
+        if (monthTo == null) {
+            monthTo = yearTo == actual.getYear() ? actual.getMonthValue() : 12;
+        }
+        if (monthFrom < 1 || monthFrom > 12 || monthTo < 1 || monthTo > 12) {
+            throw new BadRequestException("RANGE.INVALID", "Invalid month of range, MONTH_FROM = " + monthFrom + ", MONTH_TO = " + monthTo);
+        }
+
+        YearMonth from = YearMonth.of(yearFrom, monthFrom);
+        YearMonth to = YearMonth.of(yearTo, monthTo);
+        long count = ChronoUnit.MONTHS.between(from, to) + 1;
+        if (count < 1 || count > rangeMaxMonths) {
+            throw new BadRequestException("RANGE.INVALID", "Range " + from + " - " + to + " must have 1 - " + rangeMaxMonths + " months");
+        }
+
+        // closed months served from snapshots, other months computed from one load of works and ADochazka data
+        Map<YearMonth, WorkMonthDTO> workMonths = new LinkedHashMap<>();
+        List<YearMonth> computed = new ArrayList<>();
+        for (YearMonth yearMonth = from; !yearMonth.isAfter(to); yearMonth = yearMonth.plusMonths(1)) {
+            WorkMonthDTO frozen = isClosedMonth(yearMonth.getYear(), yearMonth.getMonthValue())
+                ? workSnapshotStore.get(username, yearMonth.getYear(), yearMonth.getMonthValue()) : null;
+            workMonths.put(yearMonth, frozen);
+            if (frozen == null) {
+                computed.add(yearMonth);
+            }
+        }
+
+        if (!computed.isEmpty()) {
+            ServerTiming.startCompute();
+            long phase = System.nanoTime();
+            Map<YearMonth, List<Work>> works = new HashMap<>();
+            computed.forEach(yearMonth -> works.put(yearMonth, new ArrayList<>()));
+            for (Work work : workRepository.findByUsernameAndDateRange(username, computed.get(0).atDay(1),
+                    computed.get(computed.size() - 1).atEndOfMonth())) {
+                List<Work> monthWorks = works.get(YearMonth.from(work.getDate()));
+                if (monthWorks != null) {
+                    monthWorks.add(work);
+                }
+            }
+            phase = monthPhase("db-load", phase);
+
+            Uzivatel uzivatel = getUzivatel(username);
+
+            Map<YearMonth, ADochazkaGateway.Result<Map<Integer, CustomerDataDen>>> remote =
+                uzivatel == null ? new HashMap<>() :
+                    aDochazkaGateway.getWorkMonthMaps(computed, uzivatel.getId());
+            Map<YearMonth, Map<Integer, CustomerDataDen>> workMonthMaps = new HashMap<>();
+            computed.forEach(yearMonth -> workMonthMaps.put(yearMonth,
+                remote.containsKey(yearMonth) ? remote.get(yearMonth).getValue() : new HashMap<>()));
+            phase = monthPhase("remote-month", phase);
+
+            // accesses of days without departure (fix last) of range, one request per month
+            List<LocalDate> missingDepartures = new ArrayList<>();
+            for (YearMonth yearMonth : computed) {
+                missingDepartures.addAll(getMissingDepartures(yearMonth, workMonthMaps.get(yearMonth)));
+            }
+            accessIndex.prefetch(missingDepartures);
+            phase = monthPhase("remote-accesses", phase);
+
+            for (YearMonth yearMonth : computed) {
+                workMonths.put(yearMonth, computeWorkMonth(yearMonth, username, uzivatel, works.get(yearMonth),
+                    workMonthMaps.get(yearMonth), remote.containsKey(yearMonth) && remote.get(yearMonth).isStale(), phase));
+                phase = System.nanoTime();
+            }
+            ServerTiming.endCompute();
+        }
+
+        WorkRangeDTO workRange = new WorkRangeDTO();
+        workRange.setUserInfo(new UserInfoDTO());
+        workRange.getUserInfo().setUsername(username);
+        workRange.setYearFrom(yearFrom);
+        workRange.setMonthFrom(monthFrom);
+        workRange.setYearTo(yearTo);
+        workRange.setMonthTo(monthTo);
+
+        int sumWorkDays = 0;
+        int sumHolidays = 0;
+        double sumOnSiteDays = 0;
+        Map<WorkTypeDTO, WorkDTO> sums = new EnumMap<>(WorkTypeDTO.class);
+        for (WorkMonthDTO workMonth : workMonths.values()) {
+            workRange.addMonthsItem(workMonth);
+            sumWorkDays += workMonth.getSumWorkDays() != null ? workMonth.getSumWorkDays() : 0;
+            sumHolidays += workMonth.getSumHolidays() != null ? workMonth.getSumHolidays() : 0;
+            sumOnSiteDays += workMonth.getSumOnSiteDays() != null ? workMonth.getSumOnSiteDays() : 0;
+            if (workMonth.getSums() == null) {
+                continue;
+            }
+            for (WorkDTO monthSum : workMonth.getSums()) {
+                if (monthSum.getWorkType() == null || monthSum.getHours() == null) {
+                    continue;
+                }
+                WorkDTO sum = sums.computeIfAbsent(monthSum.getWorkType(), workType -> {
+                    WorkDTO created = new WorkDTO();
+                    created.setWorkType(workType);
+                    created.setHours(0d);
+                    return created;
+                });
+                sum.setHours(sum.getHours() + monthSum.getHours());
+            }
+        }
+
+        workRange.setSumWorkDays(sumWorkDays);
+        workRange.setSumHolidays(sumHolidays);
+        workRange.setSumOnSiteDays(sumOnSiteDays);
+        workRange.setSums(new ArrayList<>(sums.values()));
+        workRange.setWorked(sums.values().stream().filter(sum -> isWorkingType(sum.getWorkType()))
+            .mapToDouble(WorkDTO::getHours).sum());
+        return workRange;
+    }
+
+    /**
+     * Days of month with arrival and without departure, accesses are needed to fix last (trip or doctor).
+     */
+    private List<LocalDate> getMissingDepartures(YearMonth yearMonth, Map<Integer, CustomerDataDen> workMonthMap) {
+        List<LocalDate> missingDepartures = new ArrayList<>();
+        for (Map.Entry<Integer, CustomerDataDen> entry : workMonthMap.entrySet()) {
+            CustomerDataDen den = entry.getValue();
+            if (den != null && entry.getKey() >= 1 && entry.getKey() <= yearMonth.lengthOfMonth()
+                    && !den.getPrichod().isNil() && den.getPrichod().getValue() != null && den.getSkutecnyOdchod().isNil()) {
+                LocalDate date = yearMonth.atDay(entry.getKey());
+                if (getWorkDayType(date, den) == WorkDayTypeDTO.WORKDAY) {
+                    missingDepartures.add(date);
+                }
+            }
+        }
+        return missingDepartures;
+    }
+
+    /**
+     * Compute work month from loaded works and ADochazka data - missing works are generated, history of past days is
+     * filled, summary of month is stored and closed month is frozen. Month computed from stale ADochazka data (last good
+     * result of failed call) is only returned, history, summary and snapshot are left for next computation.
+     *
+     * @param yearMonth
+     *            computed month
+     * @param username
+     *            selected user
+     * @param uzivatel
+     *            ADochazka user (optional)
+     * @param works
+     *            stored works of month (generated works are added)
+     * @param workMonthMap
+     *            ADochazka data by day of month
+     * @param stale
+     *            ADochazka data are stale
+     * @param phase
+     *            start of computation phase ({@link System#nanoTime()})
+     * @return {@link WorkMonthDTO} computed work month
+     */
+    private WorkMonthDTO computeWorkMonth(YearMonth yearMonth, String username, Uzivatel uzivatel, List<Work> works,
+            Map<Integer, CustomerDataDen> workMonthMap, boolean stale, long phase) {
+
+        int year = yearMonth.getYear();
+        int month = yearMonth.getMonthValue();
+        boolean closedMonth = isClosedMonth(year, month);
+        LocalDate dateTo = yearMonth.atEndOfMonth();
         boolean generateWorks = works.isEmpty();
 
+        WorkMonthDTO workMonth = new WorkMonthDTO();
+        workMonth.setUserInfo(new UserInfoDTO());
+        workMonth.getUserInfo().setUsername(username);
+        workMonth.setMonth(month);
+        workMonth.setYear(year);
+
         int sumWorkDays = 0;
         int sumHolidays = 0;
         double sumWork = 0;
-       
-        Uzivatel uzivatel = getUzivatel(username);
-        
-        Map<Integer, CustomerDataDen> workMonthMap =
-            uzivatel == null ? new HashMap<>() :
-                aDochazkaService.getWorkMonthMap(year, month, uzivatel.getId());
+
+        // first access of month - all work days inserted in one batch
+        if (generateWorks) {
+            List<Work> generated = new ArrayList<>();
+            for (int day = 1; day <= dateTo.getDayOfMonth(); day++) {
+                LocalDate date = LocalDate.of(year, month, day);
+                CustomerDataDen den = workMonthMap.get(day);
+                if (getWorkDayType(date, den) == WorkDayTypeDTO.WORKDAY) {
+                    Work work = new Work();
+                    
+                    work.setUsername(username);
+                    work.setDate(date);
+                    work.setWorkDayType(WorkDayTypeDTO.WORKDAY);
+
+                    // contractors
+                    if (den == null) {
+                      work.setHours(AISService.HOURS_IN_DAY);
+                      work.setWorkType(WorkTypeDTO.WORK);
+                    }
+                    generated.add(work);
+                }
+            }
+            works.addAll(workRepository.saveAll(generated));
+        }
+        phase = monthPhase("generate", phase);
                 
+        ZoneOffset offset = OffsetDateTime.now().getOffset();
+        WorkDayRules.Day rulesDay = new WorkDayRules.Day();
+        WorkDayRules.Result rules = new WorkDayRules.Result();
+        rulesDay.setSummer(WorkDayRules.isSummer(month));
+
         for (int day = 1; day <= dateTo.getDayOfMonth(); day++) {
             
-          OffsetDateTime globalStart = OffsetDateTime.of(year, month, day, 6, 
-                  (month < 6 || month > 8) ? 30 : 0, 0, 0, OffsetDateTime.now().getOffset());  
-          OffsetDateTime globalEnd = OffsetDateTime.of(year, month, day, 17, 00, 0, 0, OffsetDateTime.now().getOffset());  
-            
           WorkDayDTO workDay = new WorkDayDTO();
           LocalDate date = LocalDate.of(year, month, day);
           workDay.setDate(date);
@@ -396,128 +585,61 @@ public class AISServiceImpl implements AISService {
           
           if (workDay.getWorkDayType() == WorkDayTypeDTO.WORKDAY) {
             sumWorkDays++;
-            if (generateWorks) {
-                Work work = new Work();
-                
-                work.setUsername(username);
-                work.setDate(date);
-                work.setWorkDayType(WorkDayTypeDTO.WORKDAY);
-
-                // contractors
-                if (den == null) {
-                  work.setHours(AISService.HOURS_IN_DAY);
-                  work.setWorkType(WorkTypeDTO.WORK);
-                }
-                    
-                works.add(workRepository.save(work));
-            }
           }
 
           if (den != null && workDay.getWorkDayType() == WorkDayTypeDTO.WORKDAY) {
               
-              OffsetDateTime skutecnyPrichod = aDochazkaService.toOffsetDateTime(den.getSkutecnyPrichod().isNil() ? 
+              OffsetDateTime skutecnyPrichod = aDochazkaGateway.toOffsetDateTime(den.getSkutecnyPrichod().isNil() ? 
                       null : den.getSkutecnyPrichod().getValue());
-              OffsetDateTime skutecnyOdchod = aDochazkaService.toOffsetDateTime(den.getSkutecnyOdchod().isNil() ? 
+              OffsetDateTime skutecnyOdchod = aDochazkaGateway.toOffsetDateTime(den.getSkutecnyOdchod().isNil() ? 
                       null : den.getSkutecnyOdchod().getValue());
-              
-              WorkHourDTO ws = new WorkHourDTO();
-              ws.setDate(skutecnyPrichod);
-              workDay.setWorkStart(ws);
-              
-              WorkHourDTO we = new WorkHourDTO();
-              we.setDate(skutecnyOdchod);
-              workDay.setWorkEnd(we);
-
-              workDay.setSick(den.getCelkemLekar() + den.getCelkemNemoc() + den.getCelkemSickDay());
-              workDay.setTrip(den.getCelkemSluzebniCesta() != null ? den.getCelkemSluzebniCesta() : 0);
-              workDay.setPayed(
-                  (den.getCelkemSvatba() != null ? den.getCelkemSvatba() : 0) +
-                  (den.getCelkemPohreb() != null ? den.getCelkemPohreb() : 0));
-
-              workDay.setWorkedHours(den.getCelkemPrace() + workDay.getSick());              
-              workDay.setSaldo(den.getBalanc());
-              
-              if (month >= 6 && month <= 8) {
-                  workDay.setWorkedHours(den.getCelkemNaPracovisti() + den.getCelkemSluzebniCesta());              
-                  workDay.setSaldo(workDay.getWorkedHours()-8);
-              }
-                            
-              // today
-              if (LocalDate.now().equals(workDay.getDate())) {
-                  workDay.setSaldo(0d);
-              }              
-              
-              workDay.setLunch(den.getCelkemPrestavka());
-
-//              if (workDay.getDate().getDayOfMonth()==17) {
-//                  System.out.println("dd");
-//              }
-              
-              // correct lunch
-              if (((workDay.getLunch() == null || workDay.getLunch() == 0) && den.getCelkemPrace() > 4.5d || workDay.getLunch() < 0.5 && workDay.getLunch() > 0 ) ) {
-                  workDay.setOriginalLunch(workDay.getLunch() != null ? workDay.getLunch() : 0);
-                  workDay.setLunch(0.5d);
-                  workDay.setWorkedHours(workDay.getWorkedHours() - 0.5d);              
-                  workDay.setSaldo(den.getBalanc() - 0.5d);
-              }              
-              
-              OffsetDateTime prichod = aDochazkaService.toOffsetDateTime(den.getPrichod().isNil() ? 
+              OffsetDateTime prichod = aDochazkaGateway.toOffsetDateTime(den.getPrichod().isNil() ? 
                       null : den.getPrichod().getValue());
-              OffsetDateTime odchod = aDochazkaService.toOffsetDateTime(den.getOdchod().isNil() ? null : den.getOdchod().getValue());
-              
-              if (prichod != null && prichod.isBefore(globalStart) 
-                  || workDay.getWorkStart() != null && workDay.getWorkStart().getDate() != null 
-                  && workDay.getWorkStart().getDate().isBefore(globalStart)) {
-                  workDay.setUnpaid(workDay.getUnpaid() + ChronoUnit.SECONDS.between(prichod, globalStart) / 3600d);
-                  prichod = globalStart;
-              }
-              
-              if (isDifferent(workDay.getWorkStart().getDate(), prichod)) {
-                  workDay.getWorkStart().setOriginal(workDay.getWorkStart().getDate());
-                  workDay.getWorkStart().setDate(prichod);
-                  workDay.getWorkStart().setCorrected(true);
-              }
-              
-              if (isDifferent(workDay.getWorkEnd().getDate(), odchod)) {
-                  workDay.getWorkEnd().setOriginal(workDay.getWorkEnd().getDate());
-                  workDay.getWorkEnd().setDate(odchod);
-                  workDay.getWorkEnd().setCorrected(odchod == null);
-              }
-              
-              boolean fixed = false;
-              
-              // fix last 
-              if (prichod != null && skutecnyOdchod == null) {// && (workDay.getTrip().doubleValue() > 0 || workDay.getSick() > 0)) {
-                  
-                  List<PassDTO> accesses = getAccesses(workDay.getDate(), username);
-                  PassDTO lastCat = accesses.size() > 0 ? accesses.get(accesses.size()-1) : null;
-                  if (lastCat != null && (lastCat.getCategoryId() == 4 || lastCat.getCategoryId() == 5)) {
-                      workDay.getWorkEnd().setOriginal(odchod);
-                      odchod = prichod.plusMinutes((long) (workDay.getLunch() * 60d)).plusHours(8);
-                      workDay.getWorkEnd().setDate(odchod);
-                      workDay.getWorkEnd().setCorrected(true);
-                      workDay.setSaldo(0d);
-                      workDay.setWorkedHours(8d);
-                      workDay.setUnpaid(0d);
-                      fixed = true;
+              OffsetDateTime odchod = aDochazkaGateway.toOffsetDateTime(den.getOdchod().isNil() ? null : den.getOdchod().getValue());
+
+              workDay.setSick(hours(den.getCelkemLekar()) + hours(den.getCelkemNemoc()) + hours(den.getCelkemSickDay()));
+              workDay.setTrip(hours(den.getCelkemSluzebniCesta()));
+              workDay.setPayed(hours(den.getCelkemSvatba()) + hours(den.getCelkemPohreb()));
+
+              rulesDay.setDayStart(date.atStartOfDay().toEpochSecond(offset));
+              rulesDay.setToday(LocalDate.now().equals(date));
+              rulesDay.setWork(hours(den.getCelkemPrace()));
+              rulesDay.setSick(workDay.getSick());
+              rulesDay.setTrip(workDay.getTrip());
+              rulesDay.setOnSite(hours(den.getCelkemNaPracovisti()));
+              rulesDay.setBalance(den.getBalanc() == null ? Double.NaN : den.getBalanc());
+              rulesDay.setLunch(den.getCelkemPrestavka() == null ? Double.NaN : den.getCelkemPrestavka());
+              rulesDay.setArrival(epochSecond(prichod));
+              rulesDay.setDeparture(epochSecond(odchod));
+              rulesDay.setActualArrival(epochSecond(skutecnyPrichod));
+              rulesDay.setActualDeparture(epochSecond(skutecnyOdchod));
+              rulesDay.setLastCategory(0);
+
+              // fix last - category of last access
+              if (WorkDayRules.needsLastCategory(rulesDay)) {
+                  List<PassDTO> accesses = getAccesses(date, uzivatel);
+                  stale |= accessIndex.isStale(date);
+                  if (!accesses.isEmpty() && accesses.get(accesses.size() - 1).getCategoryId() != null) {
+                      rulesDay.setLastCategory(accesses.get(accesses.size() - 1).getCategoryId());
                   }
-//                  if (lastCat != null && (lastCat.getCategoryId() == 1)) {
-//                      workDay.setWorkedHours(workDay.getWorkedHours() - workDay.getLunch());
-//                      workDay.setSaldo(workDay.getSaldo() - workDay.getLunch());
-//                  }
-              } 
-              
-              if (!fixed && workDay.getWorkEnd().getDate() != null && workDay.getWorkEnd().getDate().isAfter(globalEnd)) {
-                  workDay.setUnpaid(workDay.getUnpaid() + ChronoUnit.SECONDS.between(globalEnd, workDay.getWorkEnd().getDate()) / 3600d);
-                  workDay.getWorkEnd().setOriginal(workDay.getWorkEnd().getDate());
-                  workDay.getWorkEnd().setDate(globalEnd);
-                  workDay.getWorkEnd().setCorrected(true);
               }
+
+              WorkDayRules.apply(rulesDay, rules);
+
+              workDay.setWorkedHours(rules.getWorkedHours());
+              workDay.setSaldo(hours(rules.getSaldo(), null));
+              workDay.setLunch(hours(rules.getLunch(), null));
+              workDay.setOriginalLunch(hours(rules.getOriginalLunch(), null));
+              workDay.setUnpaid(rules.getUnpaid());
+              workDay.setWorkStart(workHour(rules.getStart(), rules.getStartOriginal(), rules.getStartCorrected(),
+                  skutecnyPrichod, prichod, offset));
+              workDay.setWorkEnd(workHour(rules.getEnd(), rules.getEndOriginal(), rules.getEndCorrected(),
+                  skutecnyOdchod, odchod, offset));
               
               sumWork += workDay.getWorkedHours();  
 
               // generate history
-              if (workDay.getDate().isBefore(LocalDate.now().atStartOfDay().toLocalDate())) {
+              if (!stale && workDay.getDate().isBefore(LocalDate.now().atStartOfDay().toLocalDate())) {
 
                   Optional<Work> work = works.stream().filter(w -> w.getDate().equals(workDay.getDate())).findFirst();
                   if (work.isPresent() && StringUtils.isEmpty(work.get().getDescription())
@@ -591,11 +713,167 @@ public class AISServiceImpl implements AISService {
           
         }
 
+        phase = monthPhase("rules", phase);
+
+        if (!stale) {
+            updateWorkMonth(username, year, month, sumWorkDays, sumHolidays, sumWork);
+            if (closedMonth) {
+                workSnapshotStore.put(workMonth);
+            }
+        }
+        monthPhase("summary", phase);
+        return workMonth;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional
+    public WorkMonthDTO recomputeWorkMonth(@NotNull String role, @NotNull Integer year, @NotNull Integer month, 
+            @NotNull String username) {
+        checkAdmin(role);
+        // accesses of month downloaded again, snapshot is replaced by recomputed month
+        YearMonth yearMonth = YearMonth.of(year, month);
+        accessIndex.invalidate(yearMonth.atDay(1), yearMonth.atEndOfMonth());
+        return getWorkDays(year, month, username, false);
+    }
+
+    /**
+     * Record duration of phase of month computation ({@code ais.work.month.phase}).
+     *
+     * @return start of next phase
+     */
+    private long monthPhase(String phase, long started) {
+        long now = System.nanoTime();
+        meterRegistry.timer("ais.work.month.phase", "phase", phase).record(now - started, TimeUnit.NANOSECONDS);
+        return now;
+    }
+
+    private void checkAdmin(String role) {
+        if (!Boolean.TRUE.equals(getUser(role).getRoleAdmin())) {
+            throw new ForbiddenException("FORBIDDEN.ADMIN", "Operation allowed only for admin, USERNAME = " + role);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional
+    public WorkMonthDTO getWorkSummary(Integer year, Integer month, @NotNull @Valid String username) {
+
+        if (year == null) {
+            year = LocalDate.now().getYear();
+        }
+
+        if (month == null) {
+            month = LocalDate.now().getMonthValue();
+        }
+
+        // on site days of actual month change every day, actual month is always computed
+        Optional<WorkMonth> summary = YearMonth.of(year, month).isBefore(YearMonth.now())
+            ? workMonthRepository.findByUsernameAndYearAndMonth(username, year, month) : Optional.empty();
+        if (!summary.isPresent()) {
+            WorkMonthDTO workMonth = getWorkDays(year, month, username);
+            workMonth.setWorkDays(null);
+            return workMonth;
+        }
+
+        WorkMonthDTO workMonth = new WorkMonthDTO();
+        workMonth.setUserInfo(new UserInfoDTO());
+        workMonth.getUserInfo().setUsername(username);
+        workMonth.setMonth(month);
+        workMonth.setYear(year);
+        workMonth.setSumWorkDays(summary.get().getSumWorkDays());
+        workMonth.setSumHolidays(summary.get().getSumHolidays());
+        workMonth.setSumOnSiteDays(summary.get().getSumOnSiteDays());
+
+        List<WorkDTO> sums = new ArrayList<>();
+        for (WorkTypeDTO workType : WorkTypeDTO.values()) {
+            double hours = summary.get().getHours(workType);
+            if (hours > 0) {
+                WorkDTO sum = new WorkDTO();
+                sum.setWorkType(workType);
+                sum.setHours(hours);
+                sums.add(sum);
+            }
+        }
+        workMonth.setSums(sums);
         return workMonth;
     }
 
+    /**
+     * Store summary of month after commit of running transaction (works generated by computation are committed), work
+     * sums are recomputed from committed works of month in own transaction.
+     */
+    private void updateWorkMonth(String username, Integer year, Integer month, int sumWorkDays, int sumHolidays,
+            double sumOnSiteDays) {
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            executeRetried(status -> saveWorkMonth(username, year, month, sumWorkDays, sumHolidays, sumOnSiteDays));
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+            @Override
+            public void afterCommit() {
+                executeRetried(status -> saveWorkMonth(username, year, month, sumWorkDays, sumHolidays, sumOnSiteDays));
+            }
+        });
+    }
+
+    /**
+     * Execute callback in own transaction, transaction is retried once when summary of month was concurrently inserted
+     * (unique user and month) or updated (version of summary).
+     */
+    private <T> T executeRetried(TransactionCallback<T> callback) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        try {
+            return transaction.execute(callback);
+        } catch (DataIntegrityViolationException | OptimisticLockingFailureException e) {
+            return transaction.execute(callback);
+        }
+    }
+
+    private WorkMonth saveWorkMonth(String username, Integer year, Integer month, int sumWorkDays, int sumHolidays,
+            double sumOnSiteDays) {
 
-    private Double round(Double origin) {        
+        WorkMonth summary = workMonthRepository.findByUsernameAndYearAndMonth(username, year, month).orElseGet(() -> {
+            WorkMonth created = new WorkMonth();
+            created.setUsername(username);
+            created.setYear(year);
+            created.setMonth(month);
+            return created;
+        });
+
+        summary.setSumWorkDays(sumWorkDays);
+        summary.setSumHolidays(sumHolidays);
+        summary.setSumOnSiteDays(sumOnSiteDays);
+        sumHours(summary);
+        return workMonthRepository.saveAndFlush(summary);
+    }
+
+    /**
+     * Recompute work sums of summary from works of month visible in running transaction.
+     */
+    private void sumHours(WorkMonth summary) {
+        YearMonth yearMonth = YearMonth.of(summary.getYear(), summary.getMonth());
+        summary.clearHours();
+        workRepository.findByUsernameAndDateRange(summary.getUsername(), yearMonth.atDay(1), yearMonth.atEndOfMonth())
+            .forEach(summary::add);
+    }
+
+
+    /**
+     * Round hours to half hours (at least half hour).
+     *
+     * @param origin
+     *            hours
+     * @return rounded hours
+     */
+    public static Double round(Double origin) {        
         double base = Math.floor(origin);
         if (origin - base > .25d) {
             base += .5;
@@ -606,14 +884,53 @@ public class AISServiceImpl implements AISService {
         return base == 0 ? .5d : base;
     }
 
-    private boolean isDifferent(@Valid OffsetDateTime real, OffsetDateTime computed) {
-        if (computed == null) {
-            return false;
+    private static double hours(Double hours) {
+        return hours == null ? 0d : hours;
+    }
+
+    private static Double hours(double hours, Double missing) {
+        return Double.isNaN(hours) ? missing : hours;
+    }
+
+    private static long epochSecond(OffsetDateTime dateTime) {
+        return dateTime == null ? WorkDayRules.NONE : dateTime.toEpochSecond();
+    }
+
+    /**
+     * Work hour of rules result, times from ADochazka are kept (with their offset), computed times are in local offset.
+     */
+    private static WorkHourDTO workHour(long date, long original, Boolean corrected, OffsetDateTime actual,
+            OffsetDateTime counted, ZoneOffset offset) {
+        WorkHourDTO workHour = new WorkHourDTO();
+        workHour.setDate(dateTime(date, actual, counted, offset));
+        workHour.setOriginal(dateTime(original, actual, counted, offset));
+        workHour.setCorrected(corrected);
+        return workHour;
+    }
+
+    private static OffsetDateTime dateTime(long epochSecond, OffsetDateTime actual, OffsetDateTime counted, ZoneOffset offset) {
+        if (epochSecond == WorkDayRules.NONE) {
+            return null;
         }
-        return real == null ? true : real.compareTo(computed) != 0;
+        if (actual != null && actual.toEpochSecond() == epochSecond) {
+            return actual;
+        }
+        if (counted != null && counted.toEpochSecond() == epochSecond) {
+            return counted;
+        }
+        return OffsetDateTime.ofInstant(Instant.ofEpochSecond(epochSecond), offset);
     }
 
-    private WorkDayTypeDTO getWorkDayType(LocalDate date, CustomerDataDen customerDataDen) {
+    /**
+     * Type of day by ADochazka, by calendar when ADochazka has no data for day.
+     *
+     * @param date
+     *            day
+     * @param customerDataDen
+     *            ADochazka data of day (optional)
+     * @return {@link WorkDayTypeDTO} type of day
+     */
+    public static WorkDayTypeDTO getWorkDayType(LocalDate date, CustomerDataDen customerDataDen) {
 
         if (customerDataDen == null) {
             return getWorkDayType(date);
@@ -630,7 +947,7 @@ public class AISServiceImpl implements AISService {
         return WorkDayTypeDTO.WORKDAY;
     }
 
-    private WorkDayTypeDTO getWorkDayType(LocalDate date) {
+    private static WorkDayTypeDTO getWorkDayType(LocalDate date) {
 
         if (NATIONAL_HOLIDAYS.contains(date)) {
             return WorkDayTypeDTO.NATIONAL_HOLIDAY;
@@ -654,42 +971,56 @@ public class AISServiceImpl implements AISService {
     @Transactional(readOnly = true)
     public List<UserInfoDTO> getWorkUsers(@Valid String username) {
 
-        UserInfo currentUser = getUser(username);
+        UserInfoDTO currentUser = getUser(username);
         
         if (Boolean.TRUE.equals(currentUser.getRoleAdmin()) || Boolean.TRUE.equals(currentUser.getRoleHip())) {
             List<UserInfoDTO> users = (Boolean.TRUE.equals(currentUser.getRoleAdmin()) ? 
-                userInfoRepository.findAllOrderByUsername() : userInfoRepository.findAllOrderByUsernameForHip(currentUser.getDepartment()))
+                userInfoRepository.findAllOrderByUsername() : userInfoRepository.findAllOrderByUsernameForHip(toInt(currentUser.getDepartment())))
                     .stream().map(user -> mapper.map(user, UserInfoDTO.class)).collect(Collectors.toList());
                     
             users.forEach(u -> u.setSelected(u.getUsername().equals(username)));
             return users;
         }
         
-        return Arrays.asList(mapper.map(currentUser, UserInfoDTO.class));
+        return Arrays.asList(currentUser);
     }
 
     /**
      * {@inheritDoc}
      */
     @Override
-    @Transactional
     public void setWork(@Valid WorkDTO work, @NotNull @Valid String username) {
-        
+        // work and summary of month committed together, concurrent update of summary is retried
+        executeRetried(status -> updateWork(work, username));
+    }
+
+    private Work updateWork(WorkDTO work, String username) {
+
         Optional<Work> workSaved = workRepository.findById(work.getId());
         if (!workSaved.isPresent()) {
-            return;
+            return null;
         }
 
         Work workUpdated = workSaved.get();
         if (!Objects.equal(workUpdated.getUsername(), username)) {
-            return;
+            return null;
         }
 
+        workSnapshotStore.remove(username, workUpdated.getDate().getYear(), workUpdated.getDate().getMonthValue());
+
+        Optional<WorkMonth> summary = workMonthRepository.findByUsernameAndYearAndMonth(username,
+            workUpdated.getDate().getYear(), workUpdated.getDate().getMonthValue());
+
         mapper.map(work, workUpdated);
         workUpdated.setHours(realHours(work.getHoursText()));
         workUpdated.setHours2(realHours(work.getHours2Text()));
-        workRepository.save(workUpdated);
+        workRepository.saveAndFlush(workUpdated);
 
+        summary.ifPresent(s -> {
+            sumHours(s);
+            workMonthRepository.saveAndFlush(s);
+        });
+        return workUpdated;
     }
     
     public static Double realHours(String value) {
@@ -728,9 +1059,19 @@ public class AISServiceImpl implements AISService {
      */
     @Override
     @Transactional(readOnly = true)
-    public UserInfo getUser(@Valid String username) {
-        return userInfoRepository.findByUsername(username)
-                .orElseThrow(() -> new NoDataFoundException("NO.USER", "No User for USERNAME = " + username));   
+    public UserInfoDTO getUser(@Valid String username) {
+
+        // users (read-only view) cached as DTO, every caller gets own copy
+        Cache users = cacheManager.getCache("users");
+        UserInfoDTO user = users != null ? users.get(username, UserInfoDTO.class) : null;
+        if (user == null) {
+            user = mapper.map(userInfoRepository.findByUsername(username)
+                .orElseThrow(() -> new NoDataFoundException("NO.USER", "No User for USERNAME = " + username)), UserInfoDTO.class);
+            if (users != null) {
+                users.put(username, user);
+            }
+        }
+        return mapper.map(user, UserInfoDTO.class);
     }
         
 
@@ -779,18 +1120,122 @@ public class AISServiceImpl implements AISService {
      */
     @Override
     @Transactional(readOnly = true)
-    public Workbook exportWorkDays(Integer year, Integer month, @NotNull @Valid String username, OutputStream out) throws IOException {
+    public void exportWorkDays(Integer year, Integer month, @NotNull @Valid String username, OutputStream out) throws IOException {
         
-        UserInfoDTO selectedUser = mapper.map(getUser(username), UserInfoDTO.class);
+        UserInfoDTO selectedUser = getUser(username);
+        WorkMonthDTO workMonthDTO = getWorkDays(year, month, username);
+
+        Workbook workbook = createWorkbook();
+        try {
+            writeWorkDays(workbook, prepareStyles(workbook, true), year, month, selectedUser, workMonthDTO);
+
+            if (out != null) {
+                workbook.write(out);
+//                try {
+//                    toPdf(workbook, out);
+//                } catch (DocumentException e) {
+//                }
+            }
+        } finally {
+            dispose(workbook);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void exportWorkDays(Integer year, Integer month, List<WorkMonthDTO> workMonths, boolean zip, OutputStream out) throws IOException {
+
+        if (!zip) {
+            Workbook workbook = createWorkbook();
+            try {
+                Map<ExcelStyleType, CellStyle> styles = prepareStyles(workbook, true);
+                for (WorkMonthDTO workMonth : workMonths) {
+                    writeWorkDays(workbook, styles, year, month, workMonth.getUserInfo(), workMonth);
+                }
+                workbook.write(out);
+            } finally {
+                dispose(workbook);
+            }
+            return;
+        }
+
+        String yearmonth = year + "." + (month < 10 ? "0":"") + month;
+
+        try (ZipOutputStream zipOut = new ZipOutputStream(out)) {
+            for (WorkMonthDTO workMonth : workMonths) {
+                zipOut.putNextEntry(new ZipEntry(yearmonth + "-" + workMonth.getUserInfo().getUsername() + ".xlsx"));
+                Workbook workbook = createWorkbook();
+                try {
+                    writeWorkDays(workbook, prepareStyles(workbook, true), year, month, workMonth.getUserInfo(), workMonth);
+                    // workbook closes stream after write
+                    workbook.write(new FilterOutputStream(zipOut) {
+                        @Override
+                        public void write(byte[] b, int off, int len) throws IOException {
+                            zipOut.write(b, off, len);
+                        }
+
+                        @Override
+                        public void close() throws IOException {
+                            flush();
+                        }
+                    });
+                } finally {
+                    dispose(workbook);
+                }
+                zipOut.closeEntry();
+            }
+        }
+    }
+
+    /**
+     * Returns new workbook, streaming workbook keeps only sliding window of rows in memory.
+     */
+    private Workbook createWorkbook() {
+        if (!exportStreaming) {
+            return new XSSFWorkbook();
+        }
+        SXSSFWorkbook workbook = new SXSSFWorkbook(exportWindow);
+        workbook.setCompressTempFiles(true);
+        return workbook;
+    }
+
+    private void dispose(Workbook workbook) {
+        if (workbook instanceof SXSSFWorkbook) {
+            ((SXSSFWorkbook) workbook).dispose();
+        }
+    }
+
+    private XSSFSheet xssfSheet(Sheet sheet) {
+        if (sheet instanceof XSSFSheet) {
+            return (XSSFSheet) sheet;
+        }
+        return ((SXSSFWorkbook) sheet.getWorkbook()).getXSSFWorkbook().getSheet(sheet.getSheetName());
+    }
+
+    /**
+     * Returns sheet name without illegal characters and at most 31 characters long, unique in workbook (ignoring case).
+     */
+    private static String sheetName(Workbook workbook, String name) {
+        String safe = WorkbookUtil.createSafeSheetName(name);
+        String unique = safe;
+        for (int i = 2; workbook.getSheet(unique) != null; i++) {
+            String suffix = " (" + i + ")";
+            unique = safe.substring(0, Math.min(safe.length(), 31 - suffix.length())) + suffix;
+        }
+        return unique;
+    }
+
+    private void writeWorkDays(Workbook workbook, Map<ExcelStyleType, CellStyle> styles, Integer year, Integer month, 
+            UserInfoDTO selectedUser, WorkMonthDTO workMonthDTO) {
 
         double fond = selectedUser.getFond() != null ? selectedUser.getFond() / 100d : 1d;
         
-        XSSFWorkbook workbook = new XSSFWorkbook();
-        Map<ExcelStyleType, CellStyle> styles = prepareStyles(workbook, true);
-
         String yearmonth = year + "." + (month < 10 ? "0":"") + month;
         
-        XSSFSheet sheet = workbook.createSheet(yearmonth + " " + username);
+        Sheet sheet = workbook.createSheet(sheetName(workbook, yearmonth + " " + selectedUser.getCode() + " "
+            + selectedUser.getUsername()));
 
         int row = 0;
         int k = 0;
@@ -813,7 +1258,6 @@ public class AISServiceImpl implements AISService {
         createSimpleRow(sheet, row++, styles.get(ExcelStyleType.TH), 
                 "datum", "kategorie", "příchod", "oběd/přestávky", "odchod", "celkem", "výkazy", "", "poznámka (hodiny/zakázka)");
 
-        WorkMonthDTO workMonthDTO = getWorkDays(year, month, username);
         for (WorkDayDTO workDay : workMonthDTO.getWorkDays()) {
 
             WorkDTO work = workDay.getWork();
@@ -949,9 +1393,9 @@ public class AISServiceImpl implements AISService {
 
         String password= "Veritas03a";
         sheet.protectSheet(password);
-        sheet.enableLocking();
+        xssfSheet(sheet).enableLocking();
                 
-        CTSheetProtection sheetProtection = sheet.getCTWorksheet().getSheetProtection();
+        CTSheetProtection sheetProtection = xssfSheet(sheet).getCTWorksheet().getSheetProtection();
         sheetProtection.setSelectLockedCells(true); 
         sheetProtection.setSelectUnlockedCells(false); 
         sheetProtection.setFormatCells(true); 
@@ -967,16 +1411,6 @@ public class AISServiceImpl implements AISService {
         sheetProtection.setPivotTables(true); 
         sheetProtection.setObjects(true); 
         sheetProtection.setScenarios(true);
-
-        if (out != null) {
-            workbook.write(out);
-//            try {
-//                toPdf(workbook, out);
-//            } catch (DocumentException e) {
-//            }
-        }
-       
-        return workbook;    
     }
 
     private void createSimpleRow(Sheet sheet, int rowIndex, CellStyle style, Object... values) {
@@ -1022,7 +1456,11 @@ public class AISServiceImpl implements AISService {
     }
 
     
-    private Map<ExcelStyleType, CellStyle> prepareStyles(XSSFWorkbook workbook, boolean wrapText) {
+    private Map<ExcelStyleType, CellStyle> prepareStyles(Workbook streamingOrWorkbook, boolean wrapText) {
+
+        // styles of streaming workbook are shared with its XSSF template
+        XSSFWorkbook workbook = streamingOrWorkbook instanceof SXSSFWorkbook ? 
+            ((SXSSFWorkbook) streamingOrWorkbook).getXSSFWorkbook() : (XSSFWorkbook) streamingOrWorkbook;
 
         Map<ExcelStyleType, CellStyle> styles = new EnumMap<>(ExcelStyleType.class);
 
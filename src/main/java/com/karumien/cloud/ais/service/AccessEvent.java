@@ -0,0 +1,82 @@
+/*
+ * Copyright (c) 2019-2029 Karumien s.r.o.
+ *
+ * Karumien s.r.o. is not responsible for defects arising from
+ * unauthorized changes to the source code.
+ */
+package com.karumien.cloud.ais.service;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+
+import javax.xml.bind.JAXBElement;
+
+import com.karumien.client.adochazka.schemas.Pristup;
+
+import lombok.Value;
+
+/**
+ * Compact immutable copy of ADochazka {@link Pristup} (one access of user).
+ *
+ * @since 1.0, 18. 10. 2026 8:12:40
+ */
+@Value
+public class AccessEvent implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /** ID of access in ADochazka */
+    private Integer id;
+
+    /** ADochazka user ID (optional) */
+    private Integer userId;
+
+    /** User code (optional) */
+    private String userCode;
+
+    /** Day of access */
+    private LocalDate day;
+
+    /** Time of access */
+    private OffsetDateTime date;
+
+    /** Pressed key (optional), see {@code KEYBOARD} */
+    private Integer key;
+
+    /** Verification type (optional) */
+    private String verification;
+
+    /**
+     * Returns ID of access, {@code 0} when unknown.
+     *
+     * @return ID of access
+     */
+    public int getSequence() {
+        return id == null ? 0 : id;
+    }
+
+    /**
+     * Creates {@link AccessEvent} from ADochazka {@link Pristup}.
+     *
+     * @param pristup
+     *            ADochazka access
+     * @param aDochazkaGateway
+     *            gateway for date conversions
+     * @return {@link AccessEvent} or {@code null} when access has no date
+     */
+    public static AccessEvent of(Pristup pristup, ADochazkaGateway aDochazkaGateway) {
+        if (pristup.getDatum() == null) {
+            return null;
+        }
+
+        return new AccessEvent(pristup.getId(), value(pristup.getUzivatelId()), value(pristup.getCisloUzivatele()),
+            LocalDate.of(pristup.getDatum().getYear(), pristup.getDatum().getMonth(), pristup.getDatum().getDay()),
+            aDochazkaGateway.toOffsetDateTime(pristup.getDatum()), value(pristup.getKlavesa1()),
+            pristup.getTypVerifikace() == null ? null : pristup.getTypVerifikace().toString());
+    }
+
+    private static <T> T value(JAXBElement<T> element) {
+        return element == null || element.isNil() ? null : element.getValue();
+    }
+}
@@ -0,0 +1,390 @@
+/*
+ * Copyright (c) 2019-2029 Karumien s.r.o.
+ *
+ * Karumien s.r.o. is not responsible for defects arising from
+ * unauthorized changes to the source code.
+ */
+package com.karumien.cloud.ais.service;
+
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.karumien.client.adochazka.schemas.Pristup;
+import com.karumien.cloud.ais.exception.ServiceUnavailableException;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Day partitioned index of ADochazka accesses (day → user ID → ordered accesses).
+ * <p>
+ * Each day is downloaded once, the actual day is refreshed incrementally - only accesses from time of last indexed
+ * access (less overlap for late accesses of terminals) are downloaded and only accesses with higher ID are appended.
+ * Partitions are immutable, refresh replaces whole partition. Past days older than grace period (late corrections in
+ * ADochazka) are complete, they are sealed in {@link AccessLog} and read from there instead of ADochazka. Partition
+ * built from stale ADochazka result (last good result of failed call) is never complete nor stored, it is loaded again
+ * after refresh interval.
+ *
+ * @since 1.0, 18. 10. 2026 8:20:11
+ */
+@Component
+@Slf4j
+public class AccessIndex {
+
+    @Autowired
+    private ADochazkaGateway aDochazkaGateway;
+
+    @Autowired
+    private AccessLog accessLog;
+
+    @Value("${ais.access-index.refresh:30000}")
+    private long refresh;
+
+    @Value("${ais.access-index.retention-days:45}")
+    private int retentionDays;
+
+    @Value("${ais.access-index.refresh-overlap:60000}")
+    private long refreshOverlap;
+
+    @Value("${ais.access-log.seal-grace-days:2}")
+    private int sealGraceDays;
+
+    private final ConcurrentMap<LocalDate, DayPartition> days = new ConcurrentHashMap<>();
+
+    private final ConcurrentMap<LocalDate, Object> locks = new ConcurrentHashMap<>();
+
+    /**
+     * Returns accesses of user in selected day ordered as provided by ADochazka.
+     *
+     * @param day
+     *            selected day
+     * @param userId
+     *            ADochazka user ID
+     * @return {@link List} of {@link AccessEvent} of user in day
+     */
+    public List<AccessEvent> getAccesses(LocalDate day, Integer userId) {
+        List<AccessEvent> accesses = partition(day).byUser.get(userId);
+        return accesses == null ? Collections.emptyList() : accesses;
+    }
+
+    /**
+     * Returns all accesses in selected day ordered as provided by ADochazka.
+     *
+     * @param day
+     *            selected day
+     * @return {@link List} of {@link AccessEvent} in day
+     */
+    public List<AccessEvent> getAccesses(LocalDate day) {
+        return partition(day).all;
+    }
+
+    /**
+     * Returns {@code true} when indexed accesses of selected day come from stale ADochazka result (last good result of
+     * failed call), computation based on them must not be stored as final.
+     *
+     * @param day
+     *            selected day
+     * @return {@code true} when accesses of day are stale
+     */
+    public boolean isStale(LocalDate day) {
+        DayPartition partition = days.get(day);
+        return partition != null && partition.stale;
+    }
+
+    /**
+     * Remove indexed and stored accesses of days, days are downloaded from ADochazka again on next access.
+     *
+     * @param from
+     *            first day
+     * @param to
+     *            last day (inclusive)
+     */
+    public void invalidate(LocalDate from, LocalDate to) {
+        for (LocalDate day = from; !day.isAfter(to); day = day.plusDays(1)) {
+            synchronized (lock(day)) {
+                days.remove(day);
+                accessLog.drop(day);
+            }
+        }
+    }
+
+    /**
+     * Loads not yet indexed days with one bulk request to ADochazka per month (accesses from the first requested day
+     * of month), newest month first. Failed month stops prefetch, days of failed and older months and days not covered
+     * by response are loaded on demand.
+     *
+     * @param requested
+     *            days which will be requested
+     */
+    public void prefetch(Collection<LocalDate> requested) {
+
+        TreeMap<YearMonth, List<LocalDate>> months = requested.stream().distinct()
+            .filter(day -> days.get(day) == null || !days.get(day).isValid(refresh))
+            .filter(day -> !stored(day))
+            .sorted().collect(Collectors.groupingBy(YearMonth::from, TreeMap::new, Collectors.toList()));
+
+        for (List<LocalDate> missing : months.descendingMap().values()) {
+            try {
+                prefetchMonth(missing);
+            } catch (ServiceUnavailableException e) {
+                log.warn("Prefetch of accesses from {} failed, older days are loaded on demand: {}", missing.get(0),
+                    e.getMessage());
+                return;
+            }
+        }
+    }
+
+    private void prefetchMonth(List<LocalDate> missing) {
+
+        if (missing.size() < 2) {
+            missing.forEach(this::partition);
+            return;
+        }
+
+        LocalDate first = missing.get(0);
+        OffsetDateTime dayStart = first.atStartOfDay().atOffset(OffsetDateTime.now().getOffset());
+        long loaded = System.currentTimeMillis();
+
+        ADochazkaGateway.Result<List<Pristup>> result = aDochazkaGateway.getAccesses(dayStart);
+        Map<LocalDate, List<AccessEvent>> found = new HashMap<>();
+        for (Pristup pristup : result.getValue()) {
+            AccessEvent access = AccessEvent.of(pristup, aDochazkaGateway);
+            if (access != null && missing.contains(access.getDay())) {
+                found.computeIfAbsent(access.getDay(), day -> new ArrayList<>()).add(access);
+            }
+        }
+
+        for (LocalDate day : missing) {
+            List<AccessEvent> accesses = found.get(day);
+            if (accesses != null || day.equals(first)) {
+                synchronized (lock(day)) {
+                    days.put(day, store(new DayPartition(day, accesses != null ? accesses : new ArrayList<>(), loaded,
+                        null, result.isStale(), isSettled(day)), accesses));
+                }
+            }
+        }
+    }
+
+    /**
+     * Refresh of actual day (incremental).
+     */
+    @Scheduled(fixedDelayString = "${ais.access-index.refresh:30000}")
+    public void refreshToday() {
+        LocalDate today = LocalDate.now();
+        synchronized (lock(today)) {
+            days.put(today, load(today, days.get(today)));
+        }
+    }
+
+    /**
+     * Every day remove partitions older than retention.
+     */
+    @Scheduled(cron = "${ais.access-index.evict-cron:0 5 0 * * *}")
+    public void evictOld() {
+        LocalDate limit = LocalDate.now().minusDays(retentionDays);
+        days.keySet().removeIf(day -> day.isBefore(limit));
+        locks.keySet().removeIf(day -> day.isBefore(limit));
+    }
+
+    private DayPartition partition(LocalDate day) {
+
+        DayPartition partition = days.get(day);
+        if (partition != null && partition.isValid(refresh)) {
+            return partition;
+        }
+
+        synchronized (lock(day)) {
+            partition = days.get(day);
+            if (partition == null || !partition.isValid(refresh)) {
+                partition = load(day, partition);
+                days.put(day, partition);
+            }
+            return partition;
+        }
+    }
+
+    /**
+     * Past day not yet indexed is taken from {@link AccessLog} when stored.
+     */
+    private boolean stored(LocalDate day) {
+        if (days.get(day) != null || !day.isBefore(LocalDate.now())) {
+            return false;
+        }
+
+        List<AccessEvent> accesses = accessLog.read(day);
+        if (accesses == null) {
+            return false;
+        }
+
+        synchronized (lock(day)) {
+            days.putIfAbsent(day, new DayPartition(day, accesses, System.currentTimeMillis(), null, false, true));
+        }
+        return true;
+    }
+
+    /**
+     * Complete day is sealed in {@link AccessLog}, new accesses of actual day are appended, stale partition is not
+     * stored.
+     */
+    private DayPartition store(DayPartition partition, List<AccessEvent> added) {
+        if (partition.stale) {
+            return partition;
+        }
+        if (partition.complete) {
+            accessLog.seal(partition.day, partition.all);
+        } else if (added != null) {
+            accessLog.append(partition.day, added);
+        }
+        return partition;
+    }
+
+    /**
+     * Day older than grace period is not changed in ADochazka anymore.
+     */
+    private boolean isSettled(LocalDate day) {
+        return day.isBefore(LocalDate.now().minusDays(sealGraceDays));
+    }
+
+    private Object lock(LocalDate day) {
+        return locks.computeIfAbsent(day, d -> new Object());
+    }
+
+    private DayPartition load(LocalDate day, DayPartition previous) {
+
+        if (previous != null && previous.stale) {
+            // stale accesses were not stored, load continues after last stored partition
+            previous = previous.base;
+        }
+
+        if (previous == null && day.isBefore(LocalDate.now())) {
+            List<AccessEvent> stored = accessLog.read(day);
+            if (stored != null) {
+                return new DayPartition(day, stored, System.currentTimeMillis(), null, false, true);
+            }
+        }
+
+        if (previous == null) {
+            // not sealed day stored before restart, only newer accesses are added
+            List<AccessEvent> stored = accessLog.readOpen(day);
+            if (stored != null) {
+                previous = new DayPartition(day, stored, 0L, null, false, false);
+            }
+        }
+
+        OffsetDateTime from = day.atStartOfDay().atOffset(OffsetDateTime.now().getOffset());
+        if (previous != null && previous.lastDate != null) {
+            OffsetDateTime last = previous.lastDate.minus(refreshOverlap, ChronoUnit.MILLIS);
+            from = last.isAfter(from) ? last : from;
+        }
+        long loaded = System.currentTimeMillis();
+
+        int lastId = previous == null ? 0 : previous.lastId;
+        List<AccessEvent> added = new ArrayList<>();
+
+        ADochazkaGateway.Result<List<Pristup>> result;
+        try {
+            result = aDochazkaGateway.getAccesses(from);
+        } catch (ServiceUnavailableException e) {
+            if (previous == null) {
+                throw e;
+            }
+            // ADochazka unavailable without last good result, stored accesses are used
+            return previous.append(added, loaded, true, false);
+        }
+
+        for (Pristup pristup : result.getValue()) {
+            AccessEvent access = AccessEvent.of(pristup, aDochazkaGateway);
+            if (access != null && day.equals(access.getDay()) && access.getSequence() > lastId) {
+                added.add(access);
+            }
+        }
+
+        return store(previous == null ? new DayPartition(day, added, loaded, null, result.isStale(), isSettled(day))
+            : previous.append(added, loaded, result.isStale(), isSettled(day)), added);
+    }
+
+    /**
+     * Immutable accesses of one day.
+     */
+    private static final class DayPartition {
+
+        private final LocalDate day;
+
+        private final List<AccessEvent> all;
+
+        private final Map<Integer, List<AccessEvent>> byUser;
+
+        private final int lastId;
+
+        /** Time of latest access ({@code null} when day has no access) */
+        private final OffsetDateTime lastDate;
+
+        private final long loaded;
+
+        private final boolean complete;
+
+        /** Built from last good result of failed ADochazka call */
+        private final boolean stale;
+
+        /** Last stored partition continued by stale partition ({@code null} when loaded from scratch) */
+        private final DayPartition base;
+
+        private DayPartition(LocalDate day, List<AccessEvent> accesses, long loaded, DayPartition base, boolean stale,
+                boolean settled) {
+            this.day = day;
+            this.all = Collections.unmodifiableList(accesses);
+            this.loaded = loaded;
+            this.base = base;
+            this.stale = stale;
+            this.complete = !stale && settled;
+
+            Map<Integer, List<AccessEvent>> users = new HashMap<>();
+            int maxId = 0;
+            OffsetDateTime maxDate = null;
+            for (AccessEvent access : accesses) {
+                if (access.getUserId() != null) {
+                    users.computeIfAbsent(access.getUserId(), id -> new ArrayList<>()).add(access);
+                }
+                maxId = Math.max(maxId, access.getSequence());
+                if (access.getDate() != null && (maxDate == null || access.getDate().isAfter(maxDate))) {
+                    maxDate = access.getDate();
+                }
+            }
+            users.replaceAll((id, list) -> Collections.unmodifiableList(list));
+
+            this.byUser = users;
+            this.lastId = maxId;
+            this.lastDate = maxDate;
+        }
+
+        private DayPartition append(List<AccessEvent> added, long loaded, boolean stale, boolean settled) {
+            List<AccessEvent> accesses = new ArrayList<>(all.size() + added.size());
+            accesses.addAll(all);
+            accesses.addAll(added);
+            return new DayPartition(day, accesses, loaded, stale ? this : null, stale, settled);
+        }
+
+        /**
+         * Complete day never changes, actual day and days in grace period are valid for {@code refresh} ms.
+         */
+        private boolean isValid(long refresh) {
+            return complete || System.currentTimeMillis() - loaded < refresh;
+        }
+    }
+}
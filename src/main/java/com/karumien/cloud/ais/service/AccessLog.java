@@ -0,0 +1,442 @@
+/*
+ * Copyright (c) 2019-2029 Karumien s.r.o.
+ *
+ * Karumien s.r.o. is not responsible for defects arising from
+ * unauthorized changes to the source code.
+ */
+package com.karumien.cloud.ais.service;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Local append-only log of ADochazka accesses, one segment file per day.
+ * <p>
+ * Accesses of actual day are appended to open segment ({@code yyyy-MM-dd.open}, flushed to disk periodically), complete
+ * past day is written once as sealed segment ({@code yyyy-MM-dd.log}) which replaces open segment of that day during
+ * compaction. Segments are read whole into heap buffer, past days are then never requested from ADochazka again.
+ * Open segment is read after restart, only newer accesses are then requested. Segments of day are dropped when day
+ * has to be downloaded again (recomputed month).
+ * <p>
+ * Record: {@code int length, int id, int userId, long epochSecond, int nano, int offsetSeconds, int key, short+bytes
+ * userCode, short+bytes verification} (missing values as {@link Integer#MIN_VALUE} or length {@code -1}). Incomplete
+ * record at the end of segment (crash during write) is ignored.
+ *
+ * @since 1.0, 18. 10. 2026 14:52:16
+ */
+@Component
+@Slf4j
+public class AccessLog {
+
+    private static final String SEALED = ".log";
+
+    private static final String OPEN = ".open";
+
+    private static final int NULL = Integer.MIN_VALUE;
+
+    @Value("${ais.access-log.enabled:true}")
+    private boolean enabled;
+
+    @Value("${ais.access-log.dir:data/access-log}")
+    private String dir;
+
+    @Value("${ais.access-log.retention-days:400}")
+    private int retentionDays;
+
+    private Path root;
+
+    private final ConcurrentMap<LocalDate, Segment> segments = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void init() {
+        if (!enabled) {
+            return;
+        }
+
+        root = Paths.get(dir);
+        try {
+            Files.createDirectories(root);
+        } catch (IOException e) {
+            log.warn("Access log disabled, directory {} not available: {}", root.toAbsolutePath(), e.getMessage());
+            enabled = false;
+        }
+    }
+
+    @PreDestroy
+    public void destroy() {
+        segments.values().forEach(Segment::close);
+        segments.clear();
+    }
+
+    /**
+     * Returns accesses of complete day from sealed segment.
+     *
+     * @param day
+     *            selected day
+     * @return {@link List} of {@link AccessEvent} of day or {@code null} when day is not stored
+     */
+    public List<AccessEvent> read(LocalDate day) {
+        return read(day, SEALED);
+    }
+
+    /**
+     * Returns accesses of not yet sealed day from open segment.
+     *
+     * @param day
+     *            selected day
+     * @return {@link List} of {@link AccessEvent} stored for day or {@code null} when day has no open segment
+     */
+    public List<AccessEvent> readOpen(LocalDate day) {
+        return read(day, OPEN);
+    }
+
+    /**
+     * Remove sealed and open segment of day, day is stored again from next download.
+     *
+     * @param day
+     *            selected day
+     */
+    public void drop(LocalDate day) {
+        if (!enabled) {
+            return;
+        }
+
+        synchronized (segments) {
+            Segment segment = segments.remove(day);
+            if (segment != null) {
+                segment.close();
+            }
+            try {
+                Files.deleteIfExists(path(day, SEALED));
+                Files.deleteIfExists(path(day, OPEN));
+            } catch (IOException e) {
+                log.warn("Access log drop of {} failed: {}", day, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Append new accesses of actual day to open segment, accesses already stored (by ID) are skipped.
+     *
+     * @param day
+     *            day of accesses
+     * @param accesses
+     *            new accesses
+     */
+    public void append(LocalDate day, List<AccessEvent> accesses) {
+        if (!enabled || accesses.isEmpty()) {
+            return;
+        }
+
+        try {
+            segment(day).append(accesses);
+        } catch (IOException e) {
+            log.warn("Access log append of {} failed: {}", day, e.getMessage());
+        }
+    }
+
+    /**
+     * Store all accesses of complete day as sealed segment (written to temporary file and atomically moved).
+     *
+     * @param day
+     *            complete day
+     * @param accesses
+     *            all accesses of day
+     */
+    public void seal(LocalDate day, List<AccessEvent> accesses) {
+        if (!enabled || Files.exists(path(day, SEALED))) {
+            return;
+        }
+
+        Path temporary = path(day, SEALED + ".tmp");
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+            StandardOpenOption.TRUNCATE_EXISTING)) {
+            write(channel, accesses);
+            channel.force(true);
+        } catch (IOException e) {
+            log.warn("Access log seal of {} failed: {}", day, e.getMessage());
+            return;
+        }
+
+        try {
+            Files.move(temporary, path(day, SEALED), StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            log.warn("Access log seal of {} failed: {}", day, e.getMessage());
+        }
+    }
+
+    /**
+     * Periodic flush of open segments to disk.
+     */
+    @Scheduled(fixedDelayString = "${ais.access-log.fsync:5000}")
+    public void fsync() {
+        segments.values().forEach(Segment::force);
+    }
+
+    /**
+     * Compaction - open segments of sealed days are removed, segments older than retention are deleted.
+     */
+    @Scheduled(cron = "${ais.access-log.compact-cron:0 15 0 * * *}")
+    public void compact() {
+        if (!enabled) {
+            return;
+        }
+
+        LocalDate today = LocalDate.now();
+        LocalDate limit = today.minusDays(retentionDays);
+
+        synchronized (segments) {
+            for (LocalDate day : new ArrayList<>(segments.keySet())) {
+                if (day.isBefore(today)) {
+                    segments.remove(day).close();
+                }
+            }
+        }
+
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(root)) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                LocalDate day = day(name);
+                if (day == null || !day.isBefore(today)) {
+                    continue;
+                }
+                if (day.isBefore(limit) || name.endsWith(OPEN) && Files.exists(path(day, SEALED))) {
+                    Files.deleteIfExists(file);
+                }
+            }
+        } catch (IOException e) {
+            log.warn("Access log compaction failed: {}", e.getMessage());
+        }
+    }
+
+    private Segment segment(LocalDate day) throws IOException {
+        Segment segment = segments.get(day);
+        if (segment != null) {
+            return segment;
+        }
+
+        synchronized (segments) {
+            segment = segments.get(day);
+            if (segment == null) {
+                Path path = path(day, OPEN);
+                int lastId = 0;
+                if (Files.exists(path)) {
+                    for (AccessEvent access : decode(day, path)) {
+                        lastId = Math.max(lastId, access.getSequence());
+                    }
+                }
+                segment = new Segment(FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.APPEND), lastId);
+                segments.put(day, segment);
+            }
+            return segment;
+        }
+    }
+
+    private List<AccessEvent> read(LocalDate day, String suffix) {
+        if (!enabled) {
+            return null;
+        }
+
+        Path segment = path(day, suffix);
+        if (!Files.exists(segment)) {
+            return null;
+        }
+
+        try {
+            return decode(day, segment);
+        } catch (IOException e) {
+            log.warn("Access log segment {} not readable: {}", segment, e.getMessage());
+            return null;
+        }
+    }
+
+    private Path path(LocalDate day, String suffix) {
+        return root.resolve(day + suffix);
+    }
+
+    private static LocalDate day(String name) {
+        int dot = name.indexOf('.');
+        try {
+            return dot < 0 ? null : LocalDate.parse(name.substring(0, dot));
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+
+    private static List<AccessEvent> decode(LocalDate day, Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            List<AccessEvent> accesses = new ArrayList<>();
+            if (channel.size() == 0) {
+                return accesses;
+            }
+
+            ByteBuffer buffer = ByteBuffer.allocate((int) channel.size());
+            while (buffer.hasRemaining() && channel.read(buffer) >= 0) {
+                // read whole segment, file is not mapped so it can be deleted or replaced on any platform
+            }
+            buffer.flip();
+            while (buffer.remaining() >= Integer.BYTES) {
+                int length = buffer.getInt();
+                if (length <= 0 || buffer.remaining() < length) {
+                    break;
+                }
+                ByteBuffer record = buffer.slice();
+                record.limit(length);
+                buffer.position(buffer.position() + length);
+
+                Integer id = integer(record.getInt());
+                Integer userId = integer(record.getInt());
+                Instant instant = Instant.ofEpochSecond(record.getLong(), record.getInt());
+                ZoneOffset offset = ZoneOffset.ofTotalSeconds(record.getInt());
+                Integer key = integer(record.getInt());
+                String userCode = string(record);
+                String verification = string(record);
+
+                accesses.add(new AccessEvent(id, userId, userCode, day, OffsetDateTime.ofInstant(instant, offset), key,
+                    verification));
+            }
+            return accesses;
+        }
+    }
+
+    private static void write(FileChannel channel, List<AccessEvent> accesses) throws IOException {
+        for (AccessEvent access : accesses) {
+            ByteBuffer record = encode(access);
+            while (record.hasRemaining()) {
+                channel.write(record);
+            }
+        }
+    }
+
+    private static ByteBuffer encode(AccessEvent access) {
+        byte[] userCode = bytes(access.getUserCode());
+        byte[] verification = bytes(access.getVerification());
+        int length = 6 * Integer.BYTES + Long.BYTES + 2 * Short.BYTES + length(userCode) + length(verification);
+
+        ByteBuffer record = ByteBuffer.allocate(Integer.BYTES + length);
+        record.putInt(length);
+        record.putInt(value(access.getId()));
+        record.putInt(value(access.getUserId()));
+        record.putLong(access.getDate().toEpochSecond());
+        record.putInt(access.getDate().getNano());
+        record.putInt(access.getDate().getOffset().getTotalSeconds());
+        record.putInt(value(access.getKey()));
+        put(record, userCode);
+        put(record, verification);
+        record.flip();
+        return record;
+    }
+
+    private static int value(Integer value) {
+        return value == null ? NULL : value;
+    }
+
+    private static Integer integer(int value) {
+        return value == NULL ? null : value;
+    }
+
+    private static byte[] bytes(String value) {
+        return value == null ? null : value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static int length(byte[] value) {
+        return value == null ? 0 : value.length;
+    }
+
+    private static void put(ByteBuffer record, byte[] value) {
+        record.putShort(value == null ? -1 : (short) value.length);
+        if (value != null) {
+            record.put(value);
+        }
+    }
+
+    private static String string(ByteBuffer record) {
+        short length = record.getShort();
+        if (length < 0) {
+            return null;
+        }
+        byte[] value = new byte[length];
+        record.get(value);
+        return new String(value, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Open segment of actual day.
+     */
+    private static final class Segment {
+
+        private final FileChannel channel;
+
+        /** Highest stored ID of access */
+        private int lastId;
+
+        private boolean dirty;
+
+        private Segment(FileChannel channel, int lastId) {
+            this.channel = channel;
+            this.lastId = lastId;
+        }
+
+        private synchronized void append(List<AccessEvent> accesses) throws IOException {
+            List<AccessEvent> added = new ArrayList<>();
+            for (AccessEvent access : accesses) {
+                if (access.getSequence() > lastId) {
+                    added.add(access);
+                    lastId = access.getSequence();
+                }
+            }
+            if (!added.isEmpty()) {
+                write(channel, added);
+                dirty = true;
+            }
+        }
+
+        private synchronized void force() {
+            if (!dirty) {
+                return;
+            }
+            try {
+                channel.force(false);
+                dirty = false;
+            } catch (IOException e) {
+                log.warn("Access log fsync failed: {}", e.getMessage());
+            }
+        }
+
+        private synchronized void close() {
+            force();
+            try {
+                channel.close();
+            } catch (IOException e) {
+                log.warn("Access log segment close failed: {}", e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright (c) 2019-2029 Karumien s.r.o.
+ *
+ * Karumien s.r.o. is not responsible for defects arising from
+ * unauthorized changes to the source code.
+ */
+package com.karumien.cloud.ais.service;
+
+/**
+ * Circuit breaker - after {@code failureThreshold} consecutive failures calls are rejected for {@code openDuration} ms,
+ * then one trial call is allowed (half open) and its result closes or opens circuit again.
+ *
+ * @since 1.0, 18. 10. 2026 15:06:40
+ */
+public class CircuitBreaker {
+
+    /**
+     * State of circuit.
+     */
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    private final int failureThreshold;
+
+    private final long openDuration;
+
+    private State state = State.CLOSED;
+
+    private int failures;
+
+    private long openedAt;
+
+    public CircuitBreaker(int failureThreshold, long openDuration) {
+        this.failureThreshold = failureThreshold;
+        this.openDuration = openDuration;
+    }
+
+    /**
+     * Returns {@code true} when call is allowed.
+     *
+     * @return {@code true} when call is allowed
+     */
+    public synchronized boolean allow() {
+        switch (state) {
+        case CLOSED:
+            return true;
+        case OPEN:
+            if (System.currentTimeMillis() - openedAt >= openDuration) {
+                state = State.HALF_OPEN;
+                return true;
+            }
+            return false;
+        default:
+            // trial call is running
+            return false;
+        }
+    }
+
+    /**
+     * Record successful call.
+     */
+    public synchronized void onSuccess() {
+        failures = 0;
+        state = State.CLOSED;
+    }
+
+    /**
+     * Record failed call.
+     */
+    public synchronized void onFailure() {
+        failures++;
+        if (state == State.HALF_OPEN || failures >= failureThreshold) {
+            state = State.OPEN;
+            openedAt = System.currentTimeMillis();
+        }
+    }
+
+    /**
+     * Record allowed call rejected locally (bulkhead full) - not a failure of remote side, trial call of half open
+     * circuit is given back.
+     */
+    public synchronized void onRejected() {
+        if (state == State.HALF_OPEN) {
+            state = State.OPEN;
+        }
+    }
+
+    /**
+     * Returns actual state of circuit.
+     *
+     * @return {@link State} actual state
+     */
+    public synchronized State getState() {
+        return state;
+    }
+}
@@ -0,0 +1,151 @@
+/*
+ * Copyright (c) 2019-2029 Karumien s.r.o.
+ *
+ * Karumien s.r.o. is not responsible for defects arising from
+ * unauthorized changes to the source code.
+ */
+package com.karumien.cloud.ais.service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.temporal.TemporalAdjusters;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.DigestUtils;
+
+import com.karumien.cloud.ais.api.entity.Work;
+import com.karumien.cloud.ais.api.entity.WorkSnapshot;
+import com.karumien.cloud.ais.repo.WorkRepository;
+import com.karumien.cloud.ais.repo.WorkSnapshotRepository;
+
+/**
+ * Cheap content versions (ETag, Last-Modified) of work and presence resources, computed without ADochazka calls.
+ * <p>
+ * Open months depend on ADochazka data which are not versioned, their version is therefore also bounded by time
+ * ({@code ais.etag.open-month-ttl}).
+ *
+ * @since 1.0, 18. 10. 2026 13:12:48
+ */
+@Component
+public class ContentVersions {
+
+    @Autowired
+    private AISService aisService;
+
+    @Autowired
+    private PresenceBoard presenceBoard;
+
+    @Autowired
+    private EmployeeDirectory employeeDirectory;
+
+    @Autowired
+    private WorkRepository workRepository;
+
+    @Autowired
+    private WorkSnapshotRepository workSnapshotRepository;
+
+    @Value("${ais.etag.open-month-ttl:300000}")
+    private long openMonthTtl;
+
+    /**
+     * Returns version of users onsite (version of presence board snapshot).
+     *
+     * @return {@link Version} of users onsite
+     */
+    public Version getOnsite() {
+        PresenceBoard.Snapshot snapshot = presenceBoard.getSnapshot();
+        return new Version("onsite-" + snapshot.getVersion() + "-" + snapshot.getCreated(), snapshot.getCreated());
+    }
+
+    /**
+     * Returns version of work month of user.
+     *
+     * @param year
+     *            year of work month
+     * @param month
+     *            month of work month
+     * @param username
+     *            selected user
+     * @return {@link Version} of work month or {@code null} when closed month is not frozen yet
+     */
+    @Transactional(readOnly = true)
+    public Version getWorkMonth(Integer year, Integer month, String username) {
+
+        if (aisService.isClosedMonth(year, month)) {
+            Optional<WorkSnapshot> snapshot = workSnapshotRepository.findByUsernameAndYearAndMonth(username, year, month);
+            if (!snapshot.isPresent()) {
+                return null;
+            }
+            long created = snapshot.get().getCreated().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+            return new Version(hash("closed", username, year, month, created), created);
+        }
+
+        LocalDate dateFrom = LocalDate.of(year, month, 1);
+        List<Work> works = workRepository.findByUsernameAndDateRange(username, dateFrom, dateFrom.with(TemporalAdjusters.lastDayOfMonth()));
+        works.sort(Comparator.comparing(Work::getDate).thenComparing(Work::getId));
+
+        StringBuilder content = new StringBuilder();
+        for (Work work : works) {
+            content.append(work.getId()).append('|').append(work.getDate()).append('|').append(work.getWorkType()).append('|')
+                .append(work.getHours()).append('|').append(work.getWorkType2()).append('|').append(work.getHours2()).append('|')
+                .append(work.getDescription()).append(';');
+        }
+
+        boolean currentMonth = LocalDate.now().getYear() == year && LocalDate.now().getMonthValue() == month;
+        return new Version(hash("open", username, year, month, content, employeeDirectory.getVersion(),
+            currentMonth ? presenceBoard.getSnapshot().getVersion() : 0, System.currentTimeMillis() / openMonthTtl), -1);
+    }
+
+    /**
+     * Returns version of any content by its hash.
+     *
+     * @param parts
+     *            content
+     * @return {@link Version} of content
+     */
+    public Version of(Object... parts) {
+        return new Version(hash(parts), -1);
+    }
+
+    private static String hash(Object... parts) {
+        StringBuilder content = new StringBuilder();
+        for (Object part : parts) {
+            content.append(part).append('#');
+        }
+        return DigestUtils.md5DigestAsHex(content.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Version of content.
+     */
+    @lombok.Value
+    public static class Version {
+
+        /** Strong entity tag (without quotes) */
+        private String etag;
+
+        /** Time of last modification (ms), {@code -1} when unknown */
+        private long lastModified;
+
+        /**
+         * Returns version extended by other content (e.g. parameters of rendering).
+         *
+         * @param parts
+         *            other content
+         * @return {@link Version} extended version
+         */
+        public Version with(Object... parts) {
+            Object[] all = new Object[parts.length + 1];
+            all[0] = etag;
+            System.arraycopy(parts, 0, all, 1, parts.length);
+            return new Version(hash(all), lastModified);
+        }
+    }
+}
@@ -0,0 +1,215 @@
+/*
+ * Copyright (c) 2019-2029 Karumien s.r.o.
+ *
+ * Karumien s.r.o. is not responsible for defects arising from
+ * unauthorized changes to the source code.
+ */
+package com.karumien.cloud.ais.service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.karumien.client.adochazka.schemas.Oddeleni;
+import com.karumien.client.adochazka.schemas.Uzivatel;
+import com.karumien.cloud.ais.api.entity.UserInfo;
+import com.karumien.cloud.ais.repo.UserInfoRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Local directory of ADochazka employees indexed by user code, username and department.
+ * <p>
+ * Directory is refreshed in background, only changed employees are replaced (delta against previous directory) and
+ * unchanged refresh keeps directory and its version.
+ *
+ * @since 1.0, 18. 10. 2026 10:42:19
+ */
+@Component
+@Slf4j
+public class EmployeeDirectory {
+
+    @Autowired
+    private ADochazkaGateway aDochazkaGateway;
+
+    @Autowired
+    private UserInfoRepository userInfoRepository;
+
+    private final AtomicReference<Directory> directory = new AtomicReference<>();
+
+    /**
+     * Returns employee by user code.
+     *
+     * @param code
+     *            user code
+     * @return {@link Uzivatel} or {@code null} when not found
+     */
+    public Uzivatel getByCode(Object code) {
+        return code == null ? null : getDirectory().byCode.get(code.toString());
+    }
+
+    /**
+     * Returns employee by username.
+     *
+     * @param username
+     *            username
+     * @return {@link Uzivatel} or {@code null} when not found
+     */
+    public Uzivatel getByUsername(String username) {
+        return username == null ? null : getDirectory().byUsername.get(username);
+    }
+
+    /**
+     * Returns employees of department.
+     *
+     * @param department
+     *            name of department
+     * @return {@link List} of {@link Uzivatel} in department
+     */
+    public List<Uzivatel> getByDepartment(String department) {
+        return getDirectory().byDepartment.getOrDefault(department, Collections.emptyList());
+    }
+
+    /**
+     * Returns all employees by user code.
+     *
+     * @return {@link Map} of {@link Uzivatel} by user code
+     */
+    public Map<String, Uzivatel> getAll() {
+        return getDirectory().byCode;
+    }
+
+    /**
+     * Returns version of directory, incremented on change.
+     *
+     * @return version of directory
+     */
+    public long getVersion() {
+        return getDirectory().version;
+    }
+
+    /**
+     * Refresh of directory, last directory stays on error.
+     */
+    @Scheduled(fixedDelayString = "${ais.directory.refresh:300000}")
+    public void refresh() {
+        try {
+            load(true);
+        } catch (RuntimeException e) {
+            log.warn("Employee directory refresh failed, last directory kept: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Returns name of first department of employee.
+     *
+     * @param uzivatel
+     *            employee
+     * @return name of department or empty {@link String}
+     */
+    public static String departmentOf(Uzivatel uzivatel) {
+        if (uzivatel == null || uzivatel.getOddeleni() == null || uzivatel.getOddeleni().getValue() == null) {
+            return "";
+        }
+        Oddeleni oddeleni = uzivatel.getOddeleni().getValue().getOddeleni().stream().findFirst().orElse(null);
+        return oddeleni != null && oddeleni.getNazev() != null && oddeleni.getNazev().getValue() != null
+                ? oddeleni.getNazev().getValue() : "";
+    }
+
+    private Directory getDirectory() {
+        Directory actual = directory.get();
+        return actual != null ? actual : load(false);
+    }
+
+    /**
+     * Load directory, first load is shared by concurrent callers, refresh always loads.
+     */
+    private synchronized Directory load(boolean refresh) {
+
+        Directory previous = directory.get();
+        if (previous != null && !refresh) {
+            return previous;
+        }
+
+        Map<String, Uzivatel> workers = aDochazkaGateway.getWorkersMap();
+
+        Map<String, String> usernames = new HashMap<>();
+        for (UserInfo user : userInfoRepository.findAllOrderByUsername()) {
+            if (user.getCode() != null) {
+                usernames.put(user.getCode().toString(), user.getUsername());
+            }
+        }
+
+        Map<String, Uzivatel> byCode = new HashMap<>();
+        Map<String, String> fingerprints = new HashMap<>();
+        int changed = 0;
+
+        for (Map.Entry<String, Uzivatel> worker : workers.entrySet()) {
+            String fingerprint = fingerprint(worker.getValue()) + "|" + usernames.get(worker.getKey());
+            Uzivatel known = previous == null ? null : previous.byCode.get(worker.getKey());
+
+            if (known != null && fingerprint.equals(previous.fingerprints.get(worker.getKey()))) {
+                byCode.put(worker.getKey(), known);
+            } else {
+                byCode.put(worker.getKey(), worker.getValue());
+                changed++;
+            }
+            fingerprints.put(worker.getKey(), fingerprint);
+        }
+
+        int removed = previous == null ? 0 : (int) previous.byCode.keySet().stream().filter(code -> !byCode.containsKey(code)).count();
+        if (previous != null && changed == 0 && removed == 0) {
+            return previous;
+        }
+
+        Directory actual = new Directory(byCode, fingerprints, usernames, previous == null ? 1 : previous.version + 1);
+        directory.set(actual);
+        log.debug("Employee directory version {}: {} changed, {} removed", actual.version, changed, removed);
+        return actual;
+    }
+
+    private static String fingerprint(Uzivatel uzivatel) {
+        return uzivatel.getId() + "|" + (uzivatel.getJmeno() == null ? null : uzivatel.getJmeno().getValue())
+                + "|" + (uzivatel.getPrijmeni() == null ? null : uzivatel.getPrijmeni().getValue()) + "|" + departmentOf(uzivatel);
+    }
+
+    /**
+     * Immutable indexed employees.
+     */
+    private static final class Directory {
+
+        private final Map<String, Uzivatel> byCode;
+
+        private final Map<String, String> fingerprints;
+
+        private final Map<String, Uzivatel> byUsername = new HashMap<>();
+
+        private final Map<String, List<Uzivatel>> byDepartment = new HashMap<>();
+
+        private final long version;
+
+        private Directory(Map<String, Uzivatel> byCode, Map<String, String> fingerprints, Map<String, String> usernames,
+                long version) {
+
+            this.byCode = Collections.unmodifiableMap(byCode);
+            this.fingerprints = fingerprints;
+            this.version = version;
+
+            byCode.forEach((code, uzivatel) -> {
+                String username = usernames.get(code);
+                if (username != null) {
+                    byUsername.put(username, uzivatel);
+                }
+                byDepartment.computeIfAbsent(departmentOf(uzivatel), d -> new ArrayList<>()).add(uzivatel);
+            });
+            byDepartment.replaceAll((department, list) -> Collections.unmodifiableList(list));
+        }
+    }
+}
@@ -0,0 +1,406 @@
+/*
+ * Copyright (c) 2019-2029 Karumien s.r.o.
+ *
+ * Karumien s.r.o. is not responsible for defects arising from
+ * unauthorized changes to the source code.
+ */
+package com.karumien.cloud.ais.service;
+
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.GregorianCalendar;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+
+import javax.xml.bind.JAXBElement;
+import javax.xml.datatype.DatatypeConfigurationException;
+import javax.xml.datatype.DatatypeFactory;
+import javax.xml.datatype.XMLGregorianCalendar;
+import javax.xml.namespace.QName;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+
+import com.karumien.client.adochazka.schemas.CustomerDataDen;
+import com.karumien.client.adochazka.schemas.Pristup;
+import com.karumien.client.adochazka.schemas.Pritomnost;
+import com.karumien.client.adochazka.schemas.Uzivatel;
+import com.karumien.client.adochazka.service.ADochazkaService;
+import com.karumien.cloud.ais.api.entity.UserInfo;
+import com.karumien.cloud.ais.repo.UserInfoRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Local stand-in of {@link ADochazkaService} for load tests (profile {@code local-adochazka}) - realistic synthetic
+ * data generated without attendance server, every call delayed by configured latency and jitter.
+ * <p>
+ * Workers are users of AIS (same user codes) completed by synthetic workers up to configured count. Day of worker is
+ * derived from seed, day and worker, so repeated calls return the same data and accesses of actual day only grow
+ * (IDs are increasing in time).
+ *
+ * @since 1.0, 18. 10. 2026 16:08:33
+ */
+@Service
+@Primary
+@Profile("local-adochazka")
+@Slf4j
+public class LocalADochazkaService extends ADochazkaService {
+
+    private static final String[] NAMES = { "Jan", "Petr", "Eva", "Jana", "Pavel", "Lucie", "Tomáš", "Marie" };
+
+    private static final String[] SURNAMES = { "Novák", "Svoboda", "Dvořák", "Černá", "Procházka", "Kučerová",
+        "Veselý", "Horáková" };
+
+    /** First code of synthetic workers */
+    private static final int SYNTHETIC_CODE = 90000;
+
+    @Autowired
+    private UserInfoRepository userInfoRepository;
+
+    @Value("${ais.adochazka.local.users:300}")
+    private int users;
+
+    @Value("${ais.adochazka.local.latency:40}")
+    private long latency;
+
+    @Value("${ais.adochazka.local.jitter:40}")
+    private long jitter;
+
+    @Value("${ais.adochazka.local.seed:1}")
+    private long seed;
+
+    private final DatatypeFactory datatypeFactory;
+
+    private volatile List<Worker> workers;
+
+    public LocalADochazkaService() {
+        try {
+            datatypeFactory = DatatypeFactory.newInstance();
+        } catch (DatatypeConfigurationException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Map<String, Uzivatel> getWorkersMap() {
+        delay();
+        Map<String, Uzivatel> map = new LinkedHashMap<>();
+        for (Worker worker : getWorkers()) {
+            map.put(worker.code, worker.uzivatel);
+        }
+        return map;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<Pritomnost> getActualWorkers() {
+        delay();
+
+        LocalDateTime now = LocalDateTime.now();
+        List<Pritomnost> present = new ArrayList<>();
+        List<Worker> all = getWorkers();
+        for (int index = 0; index < all.size(); index++) {
+            WorkerDay day = workerDay(now.toLocalDate(), index);
+            if (day == null || now.isBefore(day.arrival) || !now.isBefore(day.departure)) {
+                continue;
+            }
+
+            Worker worker = all.get(index);
+            Pritomnost pritomnost = new Pritomnost();
+            pritomnost.setUzivatelJmeno(element("UzivatelJmeno", String.class, worker.jmeno));
+            pritomnost.setUzivatelPrijmeni(element("UzivatelPrijmeni", String.class, worker.prijmeni));
+            pritomnost.setUzivatelCislo(element("UzivatelCislo", String.class, worker.code));
+            pritomnost.setOddeleniString(element("OddeleniString", String.class, department(index)));
+            pritomnost.setPrichod(element("Prichod", XMLGregorianCalendar.class, calendar(day.arrival)));
+            pritomnost.setCinnostNazev(element("CinnostNazev", String.class, day.activity));
+            present.add(pritomnost);
+        }
+        return present;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<Pristup> getAccesses(OffsetDateTime from) {
+        delay();
+
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime start = from.atZoneSameInstant(ZoneId.systemDefault()).toLocalDateTime();
+        List<Pristup> accesses = new ArrayList<>();
+        List<Worker> all = getWorkers();
+
+        for (LocalDate date = from.toLocalDate(); !date.isAfter(now.toLocalDate()); date = date.plusDays(1)) {
+
+            List<Access> day = new ArrayList<>();
+            for (int index = 0; index < all.size(); index++) {
+                WorkerDay workerDay = workerDay(date, index);
+                if (workerDay != null) {
+                    day.add(new Access(index, workerDay.arrival, 1));
+                    day.add(new Access(index, workerDay.lunch, 3));
+                    day.add(new Access(index, workerDay.lunch.plusMinutes(30), 1));
+                    day.add(new Access(index, workerDay.departure, key(workerDay.activity)));
+                }
+            }
+            day.sort(Comparator.comparing((Access access) -> access.time).thenComparingInt(access -> access.worker));
+
+            // ID increasing in time, stable for already passed accesses
+            int id = (int) (date.toEpochDay() % 20000) * 100000;
+            for (Access access : day) {
+                id++;
+                if (access.time.isAfter(now)) {
+                    break;
+                }
+                if (access.time.isBefore(start)) {
+                    continue;
+                }
+                Worker worker = all.get(access.worker);
+                Pristup pristup = new Pristup();
+                pristup.setId(id);
+                pristup.setUzivatelId(element("UzivatelId", Integer.class, worker.id));
+                pristup.setCisloUzivatele(element("CisloUzivatele", String.class, worker.code));
+                pristup.setDatum(calendar(access.time));
+                pristup.setKlavesa1(element("Klavesa1", Integer.class, access.key));
+                accesses.add(pristup);
+            }
+        }
+        return accesses;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Map<Integer, CustomerDataDen> getWorkMonthMap(Integer year, Integer month, Integer userId) {
+        delay();
+
+        LocalDateTime now = LocalDateTime.now();
+        YearMonth yearMonth = YearMonth.of(year, month);
+        int index = userId == null ? 0 : userId - 1;
+
+        Map<Integer, CustomerDataDen> workMonth = new HashMap<>();
+        for (int dayOfMonth = 1; dayOfMonth <= yearMonth.lengthOfMonth(); dayOfMonth++) {
+            LocalDate date = yearMonth.atDay(dayOfMonth);
+            WorkerDay day = workerDay(date, index);
+
+            CustomerDataDen den = new CustomerDataDen();
+            den.setJeVikend(isWeekend(date));
+            den.setJeSvatek(false);
+
+            boolean arrived = day != null && !now.isBefore(day.arrival);
+            boolean departed = day != null && !now.isBefore(day.departure);
+            double lunch = day != null && departed ? 0.5d : 0d;
+            double worked = departed ? hours(day.arrival, day.departure) - lunch : 0d;
+            double trip = departed && day.activity.equals("SluzebniCesta") ? 2d : 0d;
+            double doctor = departed && day.activity.equals("Lekar") ? 1.5d : 0d;
+
+            den.setPrichod(element("Prichod", XMLGregorianCalendar.class, arrived ? calendar(day.arrival) : null));
+            den.setSkutecnyPrichod(element("SkutecnyPrichod", XMLGregorianCalendar.class, arrived ? calendar(day.arrival) : null));
+            den.setOdchod(element("Odchod", XMLGregorianCalendar.class, departed ? calendar(day.departure) : null));
+            den.setSkutecnyOdchod(element("SkutecnyOdchod", XMLGregorianCalendar.class, departed ? calendar(day.departure) : null));
+            den.setCelkemPrace(worked - doctor);
+            den.setCelkemNaPracovisti(worked - trip);
+            den.setCelkemPrestavka(lunch);
+            den.setCelkemLekar(doctor);
+            den.setCelkemNemoc(0d);
+            den.setCelkemSickDay(0d);
+            den.setCelkemSluzebniCesta(trip);
+            den.setCelkemSvatba(0d);
+            den.setCelkemPohreb(0d);
+            den.setBalanc(departed ? worked - AISService.HOURS_IN_DAY : 0d);
+            workMonth.put(dayOfMonth, den);
+        }
+        return workMonth;
+    }
+
+    /**
+     * Workers - users of AIS first, then synthetic ones, ADochazka ID is position + 1.
+     */
+    private List<Worker> getWorkers() {
+        List<Worker> actual = workers;
+        if (actual != null) {
+            return actual;
+        }
+
+        synchronized (this) {
+            if (workers == null) {
+                List<Worker> created = new ArrayList<>();
+                for (UserInfo user : userInfoRepository.findAllOrderByUsername()) {
+                    if (user.getCode() != null) {
+                        String[] name = user.getName() == null ? new String[] { "" } : user.getName().split(" ", 2);
+                        created.add(new Worker(created.size() + 1, user.getCode().toString(), name[0], name.length > 1 ? name[1] : ""));
+                    }
+                }
+                for (int i = created.size(); i < users; i++) {
+                    created.add(new Worker(i + 1, String.valueOf(SYNTHETIC_CODE + i), NAMES[i % NAMES.length],
+                        SURNAMES[(i / NAMES.length) % SURNAMES.length]));
+                }
+                log.info("Local ADochazka stand-in with {} workers", created.size());
+                workers = Collections.unmodifiableList(created);
+            }
+            return workers;
+        }
+    }
+
+    /**
+     * Day of worker, {@code null} for weekend or absence.
+     */
+    private WorkerDay workerDay(LocalDate date, int index) {
+        if (isWeekend(date)) {
+            return null;
+        }
+
+        Random random = new Random(seed * 31 + date.toEpochDay() * 100003 + index);
+        if (random.nextInt(20) == 0) {
+            return null;
+        }
+
+        LocalDateTime arrival = date.atTime(6, 30).plusMinutes(random.nextInt(120));
+        LocalDateTime lunch = date.atTime(11, 0).plusMinutes(random.nextInt(90));
+        LocalDateTime departure = arrival.plusMinutes(480 + random.nextInt(120));
+
+        int activity = random.nextInt(12);
+        return new WorkerDay(arrival, lunch, departure, activity == 0 ? "SluzebniCesta" : activity == 1 ? "Lekar" : "Prace");
+    }
+
+    /**
+     * Key pressed at departure by activity.
+     */
+    private static int key(String activity) {
+        switch (activity) {
+        case "SluzebniCesta":
+            return 4;
+        case "Lekar":
+            return 5;
+        default:
+            return 2;
+        }
+    }
+
+    private static boolean isWeekend(LocalDate date) {
+        return date.getDayOfWeek() == DayOfWeek.SATURDAY || date.getDayOfWeek() == DayOfWeek.SUNDAY;
+    }
+
+    private static String department(int index) {
+        return "Oddělení " + (index % 8 + 1);
+    }
+
+    private static double hours(LocalDateTime from, LocalDateTime to) {
+        return Duration.between(from, to).toMinutes() / 60d;
+    }
+
+    private void delay() {
+        long millis = latency + (jitter > 0 ? ThreadLocalRandom.current().nextLong(jitter + 1) : 0);
+        if (millis <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private XMLGregorianCalendar calendar(LocalDateTime time) {
+        ZonedDateTime zoned = time.atZone(ZoneId.systemDefault());
+        return datatypeFactory.newXMLGregorianCalendar(GregorianCalendar.from(zoned));
+    }
+
+    private static <T> JAXBElement<T> element(String name, Class<T> type, T value) {
+        JAXBElement<T> element = new JAXBElement<>(new QName(name), type, value);
+        element.setNil(value == null);
+        return element;
+    }
+
+    /**
+     * Worker with ADochazka user.
+     */
+    private static final class Worker {
+
+        /** ADochazka user ID */
+        private final int id;
+
+        /** User code */
+        private final String code;
+
+        private final String jmeno;
+
+        private final String prijmeni;
+
+        private final Uzivatel uzivatel;
+
+        private Worker(int id, String code, String jmeno, String prijmeni) {
+            this.id = id;
+            this.code = code;
+            this.jmeno = jmeno;
+            this.prijmeni = prijmeni;
+
+            uzivatel = new Uzivatel();
+            uzivatel.setId(id);
+            uzivatel.setJmeno(element("Jmeno", String.class, jmeno));
+            uzivatel.setPrijmeni(element("Prijmeni", String.class, prijmeni));
+        }
+    }
+
+    /**
+     * Generated day of worker.
+     */
+    private static final class WorkerDay {
+
+        private final LocalDateTime arrival;
+
+        private final LocalDateTime lunch;
+
+        private final LocalDateTime departure;
+
+        /** Activity (ADochazka name) */
+        private final String activity;
+
+        private WorkerDay(LocalDateTime arrival, LocalDateTime lunch, LocalDateTime departure, String activity) {
+            this.arrival = arrival;
+            this.lunch = lunch;
+            this.departure = departure;
+            this.activity = activity;
+        }
+    }
+
+    /**
+     * Generated access of worker.
+     */
+    private static final class Access {
+
+        private final int worker;
+
+        private final LocalDateTime time;
+
+        private final int key;
+
+        private Access(int worker, LocalDateTime time, int key) {
+            this.worker = worker;
+            this.time = time;
+            this.key = key;
+        }
+    }
+}
@@ -0,0 +1,168 @@
+/*
+ * Copyright (c) 2019-2029 Karumien s.r.o.
+ *
+ * Karumien s.r.o. is not responsible for defects arising from
+ * unauthorized changes to the source code.
+ */
+package com.karumien.cloud.ais.service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.karumien.client.adochazka.schemas.Uzivatel;
+import com.karumien.cloud.ais.api.model.PassDTO;
+import com.karumien.cloud.ais.api.model.UserInfoDTO;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Board of users onsite - snapshot is rebuilt in background and atomically swapped, readers are always served by last
+ * good snapshot and never wait for ADochazka (except the very first build). Board is derived from per-person state of
+ * {@link PresenceEngine} (onsite since arrival, left by departure, lunch, trip or doctor). Changes are published as
+ * {@link PresenceDelta} events.
+ *
+ * @since 1.0, 18. 10. 2026 9:31:07
+ */
+@Component
+@Slf4j
+public class PresenceBoard {
+
+    @Autowired
+    private EmployeeDirectory employeeDirectory;
+
+    @Autowired
+    private PresenceEngine presenceEngine;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    private final AtomicReference<Snapshot> snapshot = new AtomicReference<>();
+
+    /**
+     * Returns users onsite from last good snapshot.
+     *
+     * @return {@link List} of {@link PassDTO} which is onsite
+     */
+    public List<PassDTO> getOnsite() {
+        return getSnapshot().getPasses();
+    }
+
+    /**
+     * Returns last good snapshot, builds first one when missing.
+     *
+     * @return {@link Snapshot} last good snapshot
+     */
+    public Snapshot getSnapshot() {
+        Snapshot actual = snapshot.get();
+        if (actual != null) {
+            return actual;
+        }
+
+        synchronized (this) {
+            if (snapshot.get() == null) {
+                snapshot.set(new Snapshot(build(), 1));
+            }
+            return snapshot.get();
+        }
+    }
+
+    /**
+     * Rebuild snapshot in background, last good snapshot stays on error.
+     */
+    @Scheduled(fixedDelayString = "${ais.presence.refresh:30000}")
+    public void refresh() {
+        try {
+            List<PassDTO> passes = build();
+            PresenceDelta delta = null;
+            synchronized (this) {
+                Snapshot actual = snapshot.get();
+                if (actual == null || !actual.getPasses().equals(passes)) {
+                    Snapshot created = new Snapshot(passes, actual == null ? 1 : actual.getVersion() + 1);
+                    snapshot.set(created);
+                    delta = actual == null ? null : PresenceDelta.between(actual, created);
+                }
+            }
+            if (delta != null && !delta.isEmpty()) {
+                eventPublisher.publishEvent(delta);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Presence board refresh failed, last snapshot kept: {}", e.getMessage());
+        }
+    }
+
+    private List<PassDTO> build() {
+
+        List<PassDTO> onsite = new ArrayList<>();
+
+        for (AccessEvent state : presenceEngine.getPresence()) {
+
+            String id = state.getUserCode();
+            Uzivatel u = employeeDirectory.getByCode(id);
+            if (u == null) {
+                continue;
+            }
+
+            UserInfoDTO user = new UserInfoDTO();
+            user.setName(u.getJmeno().getValue() + " " + AISServiceImpl.gdpr(u.getPrijmeni().getValue()));
+            user.setCode(AISServiceImpl.toInt(id));
+            user.setId(user.getCode());
+
+            user.setDepartment(EmployeeDirectory.departmentOf(u));
+
+            PassDTO pass = new PassDTO();
+
+            // onsite since arrival, others since departure, lunch, trip or doctor
+            pass.setDate(state.getDate());
+            pass.setCategoryId(state.getKey());
+            pass.setCategory(state.getKey() == PresenceEngine.ARRIVAL ? AISServiceImpl.toCategory("Prace")
+                : AISServiceImpl.KEYBOARD.get(state.getKey()));
+            pass.setPerson(user);
+
+            onsite.add(pass);
+        }
+
+        Collections.sort(onsite, new Comparator<PassDTO>() {
+
+            @Override
+            public int compare(PassDTO o1, PassDTO o2) {
+                if (!o1.getCategoryId().equals(o2.getCategoryId())) {
+                    return o1.getCategoryId().compareTo(o2.getCategoryId());
+                }
+                return o1.getDate().compareTo(o2.getDate());
+            }
+
+        });
+        return Collections.unmodifiableList(onsite);
+    }
+
+    /**
+     * Immutable snapshot of users onsite.
+     */
+    @Getter
+    public static final class Snapshot {
+
+        /** Users onsite */
+        private final List<PassDTO> passes;
+
+        /** Version of snapshot, incremented on change */
+        private final long version;
+
+        /** Time of snapshot creation (ms) */
+        private final long created;
+
+        private Snapshot(List<PassDTO> passes, long version) {
+            this.passes = passes;
+            this.version = version;
+            this.created = System.currentTimeMillis();
+        }
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright (c) 2019-2029 Karumien s.r.o.
+ *
+ * Karumien s.r.o. is not responsible for defects arising from
+ * unauthorized changes to the source code.
+ */
+package com.karumien.cloud.ais.service;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.karumien.cloud.ais.api.model.PassDTO;
+
+import lombok.Value;
+
+/**
+ * Change of users onsite between two snapshots of {@link PresenceBoard} (published as application event).
+ *
+ * @since 1.0, 18. 10. 2026 14:05:12
+ */
+@Value
+public class PresenceDelta implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /** Version of previous snapshot */
+    private long fromVersion;
+
+    /** Version of actual snapshot */
+    private long version;
+
+    /** Users newly onsite (arrival) */
+    private List<PassDTO> arrived;
+
+    /** Users with changed category or time of last pass */
+    private List<PassDTO> changed;
+
+    /** IDs of users no more onsite (departure) */
+    private List<Integer> departed;
+
+    /**
+     * Returns {@code true} when there is no change.
+     *
+     * @return {@code true} when there is no change
+     */
+    @JsonIgnore
+    public boolean isEmpty() {
+        return arrived.isEmpty() && changed.isEmpty() && departed.isEmpty();
+    }
+
+    /**
+     * Computes change between snapshots, users are identified by person ID.
+     *
+     * @param previous
+     *            previous snapshot
+     * @param actual
+     *            actual snapshot
+     * @return {@link PresenceDelta} change between snapshots
+     */
+    public static PresenceDelta between(PresenceBoard.Snapshot previous, PresenceBoard.Snapshot actual) {
+
+        Map<Integer, PassDTO> before = new HashMap<>();
+        for (PassDTO pass : previous.getPasses()) {
+            before.put(personId(pass), pass);
+        }
+
+        List<PassDTO> arrived = new ArrayList<>();
+        List<PassDTO> changed = new ArrayList<>();
+
+        for (PassDTO pass : actual.getPasses()) {
+            PassDTO known = before.remove(personId(pass));
+            if (known == null) {
+                arrived.add(pass);
+            } else if (!Objects.equals(known.getCategoryId(), pass.getCategoryId()) || !Objects.equals(known.getDate(), pass.getDate())) {
+                changed.add(pass);
+            }
+        }
+
+        return new PresenceDelta(previous.getVersion(), actual.getVersion(), arrived, changed, new ArrayList<>(before.keySet()));
+    }
+
+    private static Integer personId(PassDTO pass) {
+        return pass.getPerson() == null ? null : pass.getPerson().getId();
+    }
+}
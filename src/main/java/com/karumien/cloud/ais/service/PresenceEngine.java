@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) 2019-2029 Karumien s.r.o.
+ *
+ * Karumien s.r.o. is not responsible for defects arising from
+ * unauthorized changes to the source code.
+ */
+package com.karumien.cloud.ais.service;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Incremental presence of users in actual day - per-person state machine over pressed keys (arrival, departure,
+ * lunch, trip, doctor), only accesses not yet seen are applied.
+ * <p>
+ * Accesses of actual day are append-only in {@link AccessIndex} (refresh downloads only accesses from last indexed
+ * access), engine remembers count of applied accesses and starts again on new day or when accesses of day were
+ * reloaded.
+ *
+ * @since 1.0, 18. 10. 2026 14:38:27
+ */
+@Component
+public class PresenceEngine {
+
+    /** Key of arrival, see {@code KEYBOARD} (2 departure, 3 lunch, 4 trip, 5 doctor) */
+    public static final int ARRIVAL = 1;
+
+    /** Key of doctor, last key of state machine */
+    public static final int DOCTOR = 5;
+
+    @Autowired
+    private AccessIndex accessIndex;
+
+    private LocalDate day;
+
+    private int applied;
+
+    private AccessEvent lastApplied;
+
+    private final Map<String, PersonState> states = new HashMap<>();
+
+    /**
+     * Returns actual state of users seen in actual day - access which moved user to actual state (first arrival of
+     * stay onsite, departure, lunch, trip or doctor).
+     *
+     * @return {@link List} of {@link AccessEvent} state of users
+     */
+    public synchronized List<AccessEvent> getPresence() {
+        update();
+
+        List<AccessEvent> presence = new ArrayList<>(states.size());
+        for (PersonState state : states.values()) {
+            presence.add(state.since);
+        }
+        return presence;
+    }
+
+    private void update() {
+
+        LocalDate today = LocalDate.now();
+        List<AccessEvent> accesses = accessIndex.getAccesses(today);
+
+        // new day or accesses reloaded
+        if (!today.equals(day) || accesses.size() < applied || applied > 0 && accesses.get(applied - 1) != lastApplied) {
+            day = today;
+            applied = 0;
+            lastApplied = null;
+            states.clear();
+        }
+
+        for (int i = applied; i < accesses.size(); i++) {
+            apply(accesses.get(i));
+        }
+
+        applied = accesses.size();
+        lastApplied = applied > 0 ? accesses.get(applied - 1) : null;
+    }
+
+    private void apply(AccessEvent access) {
+        Integer key = access.getKey();
+        if (access.getUserCode() == null || access.getDate() == null || key == null || key < ARRIVAL || key > DOCTOR) {
+            return;
+        }
+
+        PersonState state = states.get(access.getUserCode());
+        if (state == null) {
+            states.put(access.getUserCode(), new PersonState(access));
+            return;
+        }
+
+        // late access older than actual state is ignored, repeated key keeps start of state
+        if (access.getDate().isBefore(state.since.getDate()) || key.equals(state.since.getKey())) {
+            return;
+        }
+        state.since = access;
+    }
+
+    /**
+     * State of person in actual day.
+     */
+    private static final class PersonState {
+
+        /** Access which moved person to actual state, key of access is the state */
+        private AccessEvent since;
+
+        private PersonState(AccessEvent since) {
+            this.since = since;
+        }
+    }
+}
@@ -0,0 +1,154 @@
+/*
+ * Copyright (c) 2019-2029 Karumien s.r.o.
+ *
+ * Karumien s.r.o. is not responsible for defects arising from
+ * unauthorized changes to the source code.
+ */
+package com.karumien.cloud.ais.service;
+
+import java.util.Locale;
+
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+/**
+ * Cost of one request for {@code Server-Timing} header - time and count of ADochazka calls and JPA queries, time of
+ * month computation (without its remote calls and queries), rest of request is rendering.
+ * <p>
+ * Timing is bound to actual request as attribute, calls outside of timed request (background refresh, parallel bulk
+ * export) are not recorded. Only request thread records, no synchronization is needed.
+ *
+ * @since 1.0, 18. 10. 2026 17:08:31
+ */
+public final class ServerTiming {
+
+    /** Name of request attribute with timing of actual request */
+    public static final String ATTRIBUTE = ServerTiming.class.getName();
+
+    /**
+     * Measured external calls.
+     */
+    public enum Metric {
+
+        ADOCHAZKA("adochazka", "ADochazka", "calls"), DB("db", "JPA", "queries");
+
+        private final String name;
+
+        private final String description;
+
+        private final String unit;
+
+        Metric(String name, String description, String unit) {
+            this.name = name;
+            this.description = description;
+            this.unit = unit;
+        }
+    }
+
+    private final long started = System.nanoTime();
+
+    private final long[] nanos = new long[Metric.values().length];
+
+    private final int[] counts = new int[Metric.values().length];
+
+    private long compute;
+
+    private int computeDepth;
+
+    private long computeStarted;
+
+    private long external;
+
+    private long externalAtCompute;
+
+    /**
+     * Returns timing of actual request.
+     *
+     * @return {@link ServerTiming} of actual request or {@code null} when request is not timed
+     */
+    public static ServerTiming current() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        return attributes == null ? null : (ServerTiming) attributes.getAttribute(ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+    }
+
+    /**
+     * Record external call of actual request (if timed).
+     *
+     * @param metric
+     *            measured call
+     * @param started
+     *            start of call ({@link System#nanoTime()})
+     */
+    public static void record(Metric metric, long started) {
+        ServerTiming timing = current();
+        if (timing != null) {
+            timing.add(metric, System.nanoTime() - started);
+        }
+    }
+
+    /**
+     * Start of month computation of actual request (if timed), nested computations are measured once.
+     */
+    public static void startCompute() {
+        ServerTiming timing = current();
+        if (timing != null && timing.computeDepth++ == 0) {
+            timing.computeStarted = System.nanoTime();
+            timing.externalAtCompute = timing.external;
+        }
+    }
+
+    /**
+     * End of month computation of actual request (if timed).
+     */
+    public static void endCompute() {
+        ServerTiming timing = current();
+        if (timing != null && timing.computeDepth > 0 && --timing.computeDepth == 0) {
+            timing.endCompute(System.nanoTime());
+        }
+    }
+
+    private void add(Metric metric, long duration) {
+        nanos[metric.ordinal()] += duration;
+        counts[metric.ordinal()]++;
+        external += duration;
+    }
+
+    private void endCompute(long now) {
+        compute += now - computeStarted - (external - externalAtCompute);
+    }
+
+    /**
+     * Value of {@code Server-Timing} header, durations are in ms.
+     *
+     * @return header value with metrics adochazka, db, compute, render and total
+     */
+    public String toHeader() {
+        long now = System.nanoTime();
+        if (computeDepth > 0) {
+            // computation interrupted by exception
+            computeDepth = 0;
+            endCompute(now);
+        }
+
+        long total = now - started;
+        StringBuilder header = new StringBuilder();
+        for (Metric metric : Metric.values()) {
+            metric(header, metric.name, nanos[metric.ordinal()],
+                metric.description + " " + counts[metric.ordinal()] + " " + metric.unit);
+        }
+        metric(header, "compute", compute, "Month computation");
+        metric(header, "render", total - external - compute, "Rendering and other");
+        metric(header, "total", total, null);
+        return header.toString();
+    }
+
+    private static void metric(StringBuilder header, String name, long duration, String description) {
+        if (header.length() > 0) {
+            header.append(", ");
+        }
+        header.append(name).append(";dur=").append(String.format(Locale.ROOT, "%.1f", duration / 1_000_000d));
+        if (description != null) {
+            header.append(";desc=\"").append(description).append('"');
+        }
+    }
+}
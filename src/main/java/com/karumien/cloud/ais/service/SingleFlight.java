@@ -0,0 +1,77 @@
+/*
+ * Copyright (c) 2019-2029 Karumien s.r.o.
+ *
+ * Karumien s.r.o. is not responsible for defects arising from
+ * unauthorized changes to the source code.
+ */
+package com.karumien.cloud.ais.service;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * Coalescing of concurrent identical calls - while call with the same key is running, other callers wait for its
+ * result instead of starting new call.
+ *
+ * @since 1.0, 18. 10. 2026 10:04:51
+ */
+public class SingleFlight {
+
+    private final ConcurrentMap<String, CompletableFuture<Object>> running = new ConcurrentHashMap<>();
+
+    /**
+     * Execute call or join already running call with the same key.
+     *
+     * @param key
+     *            key of call (operation and arguments)
+     * @param call
+     *            call to execute
+     * @return result of call (shared by all joined callers)
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T execute(String key, Supplier<T> call) {
+
+        CompletableFuture<Object> created = new CompletableFuture<>();
+        CompletableFuture<Object> actual = running.putIfAbsent(key, created);
+        if (actual != null) {
+            return (T) join(actual);
+        }
+
+        try {
+            T result = call.get();
+            created.complete(result);
+            return result;
+        } catch (RuntimeException | Error e) {
+            created.completeExceptionally(e);
+            throw e;
+        } finally {
+            running.remove(key, created);
+        }
+    }
+
+    /**
+     * Returns count of running calls.
+     *
+     * @return count of running calls
+     */
+    public int getRunning() {
+        return running.size();
+    }
+
+    private static Object join(CompletableFuture<Object> call) {
+        try {
+            return call.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+            throw e;
+        }
+    }
+}
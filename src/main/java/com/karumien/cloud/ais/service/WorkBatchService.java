@@ -0,0 +1,155 @@
+/*
+ * Copyright (c) 2019-2029 Karumien s.r.o.
+ *
+ * Karumien s.r.o. is not responsible for defects arising from
+ * unauthorized changes to the source code.
+ */
+package com.karumien.cloud.ais.service;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+
+import com.karumien.cloud.ais.api.model.UserInfoDTO;
+import com.karumien.cloud.ais.api.model.WorkDTO;
+import com.karumien.cloud.ais.api.model.WorkDayDTO;
+import com.karumien.cloud.ais.api.model.WorkDayTypeDTO;
+import com.karumien.cloud.ais.api.model.WorkMonthDTO;
+
+/**
+ * Computation of work months of more users in parallel on bounded executor (bulk export, month overview).
+ *
+ * @since 1.0, 18. 10. 2026 11:36:02
+ */
+@Service
+public class WorkBatchService {
+
+    @Autowired
+    private AISService aisService;
+
+    @Value("${ais.batch.threads:4}")
+    private int threads;
+
+    private ExecutorService executor;
+
+    @PostConstruct
+    public void init() {
+        executor = Executors.newFixedThreadPool(threads, new CustomizableThreadFactory("ais-batch-"));
+    }
+
+    @PreDestroy
+    public void destroy() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Return condensed work months (without workdays) of all users visible for selected user.
+     *
+     * @param year
+     *            year of work month
+     * @param month
+     *            month of work month
+     * @param username
+     *            selected user
+     * @return {@link List} of {@link WorkMonthDTO} with fund, worked hours, saldo and sums
+     */
+    public List<WorkMonthDTO> getWorkOverview(Integer year, Integer month, String username) {
+
+        if (year == null) {
+            year = LocalDate.now().getYear();
+        }
+
+        if (month == null) {
+            month = LocalDate.now().getMonthValue();
+        }
+
+        List<UserInfoDTO> users = aisService.getWorkUsers(username);
+
+        List<WorkMonthDTO> overview = new ArrayList<>(users.size());
+        for (WorkMonthDTO workMonth : getWorkDays(year, month, users)) {
+            overview.add(toOverview(workMonth));
+        }
+        return overview;
+    }
+
+    /**
+     * Return work months of selected users in order of users.
+     *
+     * @param year
+     *            year of work month
+     * @param month
+     *            month of work month
+     * @param users
+     *            selected users
+     * @return {@link List} of {@link WorkMonthDTO} with filled user info
+     */
+    public List<WorkMonthDTO> getWorkDays(Integer year, Integer month, List<UserInfoDTO> users) {
+
+        List<CompletableFuture<WorkMonthDTO>> computed = new ArrayList<>(users.size());
+        for (UserInfoDTO user : users) {
+            computed.add(CompletableFuture.supplyAsync(() -> {
+                WorkMonthDTO workMonth = aisService.getWorkDays(year, month, user.getUsername());
+                workMonth.setUserInfo(user);
+                return workMonth;
+            }, executor));
+        }
+
+        List<WorkMonthDTO> workMonths = new ArrayList<>(users.size());
+        try {
+            for (CompletableFuture<WorkMonthDTO> workMonth : computed) {
+                workMonths.add(workMonth.join());
+            }
+        } catch (CompletionException e) {
+            computed.forEach(workMonth -> workMonth.cancel(false));
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+        return workMonths;
+    }
+
+    private WorkMonthDTO toOverview(WorkMonthDTO workMonth) {
+
+        UserInfoDTO user = workMonth.getUserInfo();
+        double fond = user.getFond() != null ? user.getFond() / 100d : 1d;
+        LocalDate today = LocalDate.now();
+
+        double saldo = 0;
+        for (WorkDayDTO workDay : workMonth.getWorkDays()) {
+            if (workDay.getWork() == null || workDay.getWorkDayType() != WorkDayTypeDTO.WORKDAY
+                || workDay.getDate().isAfter(today)) {
+                continue;
+            }
+            saldo += aisService.saldo(workDay);
+        }
+
+        double worked = workMonth.getSums().stream().filter(w -> aisService.isWorkingType(w.getWorkType()) && w.getHours() != null)
+            .mapToDouble(WorkDTO::getHours).sum();
+
+        WorkMonthDTO overview = new WorkMonthDTO();
+        overview.setYear(workMonth.getYear());
+        overview.setMonth(workMonth.getMonth());
+        overview.setUserInfo(user);
+        overview.setSums(workMonth.getSums());
+        overview.setSumHolidays(workMonth.getSumHolidays());
+        overview.setSumWorkDays(workMonth.getSumWorkDays());
+        overview.setSumOnSiteDays(workMonth.getSumOnSiteDays());
+        overview.setFund(workMonth.getSumWorkDays() * fond * AISService.HOURS_IN_DAY);
+        overview.setWorked(worked);
+        overview.setSaldo(saldo);
+        return overview;
+    }
+}
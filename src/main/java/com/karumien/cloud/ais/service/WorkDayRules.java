@@ -0,0 +1,248 @@
+/*
+ * Copyright (c) 2019-2029 Karumien s.r.o.
+ *
+ * Karumien s.r.o. is not responsible for defects arising from
+ * unauthorized changes to the source code.
+ */
+package com.karumien.cloud.ais.service;
+
+import lombok.Data;
+
+/**
+ * Rules of one work day - working time window (from 6:00 in summer months, 6:30 otherwise, until 17:00), unpaid time
+ * outside of window, lunch correction to 0.5 h, saldo of summer months and completion of day ended by trip or doctor
+ * without departure ("fix last").
+ * <p>
+ * Rules are pure calculation without I/O: times are epoch seconds ({@link #NONE} when missing), hours are primitives
+ * ({@link Double#NaN} when missing). {@link Day} and {@link Result} can be reused for all days of month, engine is
+ * stateless and can run in parallel.
+ *
+ * @since 1.0, 18. 10. 2026 17:46:12
+ */
+public final class WorkDayRules {
+
+    /** Missing time */
+    public static final long NONE = Long.MIN_VALUE;
+
+    /** Start of working time in summer months (seconds of day) */
+    public static final long SUMMER_START = 6 * 3600L;
+
+    /** Start of working time out of summer months (seconds of day) */
+    public static final long WINTER_START = 6 * 3600L + 30 * 60L;
+
+    /** End of working time (seconds of day) */
+    public static final long GLOBAL_END = 17 * 3600L;
+
+    /** Minimal lunch in hours */
+    public static final double LUNCH = 0.5d;
+
+    /** Work in hours requiring lunch */
+    public static final double LUNCH_REQUIRED = 4.5d;
+
+    /** Hours of work day */
+    public static final double HOURS_IN_DAY = 8d;
+
+    /** Categories of last access completing day without departure (trip, doctor) */
+    private static final int CATEGORY_TRIP = 4;
+
+    private static final int CATEGORY_DOCTOR = 5;
+
+    private WorkDayRules() {
+    }
+
+    /**
+     * Month with summer working time (June - August).
+     *
+     * @param month
+     *            month (1 - 12)
+     * @return {@code true} for summer month
+     */
+    public static boolean isSummer(int month) {
+        return month >= 6 && month <= 8;
+    }
+
+    /**
+     * Day needs category of last access ({@link Day#setLastCategory(int)}) - arrival without actual departure.
+     *
+     * @param day
+     *            input of day
+     * @return {@code true} when category of last access is needed
+     */
+    public static boolean needsLastCategory(Day day) {
+        return day.arrival != NONE && day.actualDeparture == NONE;
+    }
+
+    /**
+     * Apply rules to work day with ADochazka data.
+     *
+     * @param day
+     *            input of day
+     * @param result
+     *            result of day (overwritten)
+     */
+    public static void apply(Day day, Result result) {
+
+        long globalStart = day.dayStart + (day.summer ? SUMMER_START : WINTER_START);
+        long globalEnd = day.dayStart + GLOBAL_END;
+
+        double workedHours = day.work + day.sick;
+        double saldo = day.balance;
+        if (day.summer) {
+            workedHours = day.onSite + day.trip;
+            saldo = workedHours - HOURS_IN_DAY;
+        }
+        if (day.today) {
+            saldo = 0d;
+        }
+
+        // correct lunch
+        double lunch = day.lunch;
+        double originalLunch = Double.NaN;
+        if ((Double.isNaN(lunch) || lunch == 0) && day.work > LUNCH_REQUIRED || lunch < LUNCH && lunch > 0) {
+            originalLunch = Double.isNaN(lunch) ? 0 : lunch;
+            lunch = LUNCH;
+            workedHours -= LUNCH;
+            saldo = day.balance - LUNCH;
+        }
+
+        double unpaid = 0d;
+        long arrival = day.arrival;
+        long departure = day.departure;
+
+        long start = day.actualArrival;
+        long startOriginal = NONE;
+        Boolean startCorrected = null;
+        if (arrival != NONE && (arrival < globalStart || start != NONE && start < globalStart)) {
+            unpaid += (globalStart - arrival) / 3600d;
+            arrival = globalStart;
+        }
+        if (arrival != NONE && start != arrival) {
+            startOriginal = start;
+            start = arrival;
+            startCorrected = Boolean.TRUE;
+        }
+
+        long end = day.actualDeparture;
+        long endOriginal = NONE;
+        Boolean endCorrected = null;
+        if (departure != NONE && end != departure) {
+            endOriginal = end;
+            end = departure;
+            endCorrected = Boolean.FALSE;
+        }
+
+        // fix last - day ended by trip or doctor
+        boolean fixed = false;
+        if (needsLastCategory(day) && (day.lastCategory == CATEGORY_TRIP || day.lastCategory == CATEGORY_DOCTOR)) {
+            endOriginal = departure;
+            end = arrival + (long) ((Double.isNaN(lunch) ? 0 : lunch) * 60d) * 60L + (long) HOURS_IN_DAY * 3600L;
+            endCorrected = Boolean.TRUE;
+            saldo = 0d;
+            workedHours = HOURS_IN_DAY;
+            unpaid = 0d;
+            fixed = true;
+        }
+
+        if (!fixed && end != NONE && end > globalEnd) {
+            unpaid += (end - globalEnd) / 3600d;
+            endOriginal = end;
+            end = globalEnd;
+            endCorrected = Boolean.TRUE;
+        }
+
+        result.workedHours = workedHours;
+        result.saldo = saldo;
+        result.lunch = lunch;
+        result.originalLunch = originalLunch;
+        result.unpaid = unpaid;
+        result.start = start;
+        result.startOriginal = startOriginal;
+        result.startCorrected = startCorrected;
+        result.end = end;
+        result.endOriginal = endOriginal;
+        result.endCorrected = endCorrected;
+    }
+
+    /**
+     * Input of work day.
+     */
+    @Data
+    public static final class Day {
+
+        /** Start of day (epoch seconds) */
+        private long dayStart;
+
+        /** Summer month */
+        private boolean summer;
+
+        /** Actual day (saldo is not counted) */
+        private boolean today;
+
+        /** Hours of work */
+        private double work;
+
+        /** Hours of doctor, sickness and sick day */
+        private double sick;
+
+        /** Hours of business trip */
+        private double trip;
+
+        /** Hours on site */
+        private double onSite;
+
+        /** Balance of day in hours ({@link Double#NaN} when missing) */
+        private double balance;
+
+        /** Lunch in hours ({@link Double#NaN} when missing) */
+        private double lunch;
+
+        /** Arrival counted by ADochazka */
+        private long arrival;
+
+        /** Departure counted by ADochazka */
+        private long departure;
+
+        /** Actual arrival */
+        private long actualArrival;
+
+        /** Actual departure */
+        private long actualDeparture;
+
+        /** Category of last access of day (0 when unknown) */
+        private int lastCategory;
+    }
+
+    /**
+     * Result of work day.
+     */
+    @Data
+    public static final class Result {
+
+        private double workedHours;
+
+        /** Saldo in hours ({@link Double#NaN} when balance is missing) */
+        private double saldo;
+
+        /** Lunch in hours ({@link Double#NaN} when missing) */
+        private double lunch;
+
+        /** Lunch before correction ({@link Double#NaN} when not corrected) */
+        private double originalLunch;
+
+        private double unpaid;
+
+        private long start;
+
+        private long startOriginal;
+
+        /** Start corrected ({@code null} when not changed) */
+        private Boolean startCorrected;
+
+        private long end;
+
+        private long endOriginal;
+
+        /** End corrected ({@code null} when not changed) */
+        private Boolean endCorrected;
+    }
+}
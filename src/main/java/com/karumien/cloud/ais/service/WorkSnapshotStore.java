@@ -0,0 +1,189 @@
+/*
+ * Copyright (c) 2019-2029 Karumien s.r.o.
+ *
+ * Karumien s.r.o. is not responsible for defects arising from
+ * unauthorized changes to the source code.
+ */
+package com.karumien.cloud.ais.service;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import javax.annotation.PostConstruct;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.karumien.cloud.ais.api.entity.WorkSnapshot;
+import com.karumien.cloud.ais.api.model.WorkMonthDTO;
+import com.karumien.cloud.ais.repo.WorkSnapshotRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Store of frozen work months (closed months), work month is kept as gzipped JSON of {@link WorkMonthDTO}. Gzipped
+ * data are cached in cache {@code works} (every read decodes own copy of work month).
+ *
+ * @since 1.0, 18. 10. 2026 12:49:23
+ */
+@Component
+@Slf4j
+public class WorkSnapshotStore {
+
+    @Autowired
+    private WorkSnapshotRepository workSnapshotRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    private ObjectMapper snapshotMapper;
+
+    private Cache works;
+
+    private TransactionTemplate transaction;
+
+    @PostConstruct
+    public void init() {
+        // keep original offsets of times
+        snapshotMapper = objectMapper.copy().disable(DeserializationFeature.ADJUST_DATES_TO_CONTEXT_TIME_ZONE);
+        transaction = new TransactionTemplate(transactionManager);
+        transaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        works = cacheManager.getCache("works");
+    }
+
+    /**
+     * Returns frozen work month of user.
+     *
+     * @param username
+     *            specific user
+     * @param year
+     *            year of month
+     * @param month
+     *            month
+     * @return {@link WorkMonthDTO} frozen work month or {@code null} when not frozen
+     */
+    public WorkMonthDTO get(String username, Integer year, Integer month) {
+        byte[] data = getData(username, year, month);
+        if (data == null) {
+            return null;
+        }
+
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(data))) {
+            return snapshotMapper.readValue(in, WorkMonthDTO.class);
+        } catch (IOException e) {
+            log.warn("Unreadable snapshot of {} {}/{} ignored: {}", username, month, year, e.getMessage());
+            return null;
+        }
+    }
+
+    private byte[] getData(String username, Integer year, Integer month) {
+        String key = key(username, year, month);
+        byte[] data = works != null ? works.get(key, byte[].class) : null;
+        if (data == null) {
+            data = workSnapshotRepository.findByUsernameAndYearAndMonth(username, year, month).map(WorkSnapshot::getData)
+                .orElse(null);
+            if (data != null && works != null) {
+                works.put(key, data);
+            }
+        }
+        return data;
+    }
+
+    /**
+     * Freeze work month of user, existing snapshot is replaced. Snapshot is stored in own transaction, insert of
+     * snapshot concurrently inserted by other request (unique user and month) is retried as update.
+     *
+     * @param workMonth
+     *            computed work month
+     */
+    public void put(WorkMonthDTO workMonth) {
+
+        ByteArrayOutputStream data = new ByteArrayOutputStream();
+        try (GZIPOutputStream out = new GZIPOutputStream(data)) {
+            snapshotMapper.writeValue(out, workMonth);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        String username = workMonth.getUserInfo().getUsername();
+        try {
+            transaction.execute(status -> save(username, workMonth.getYear(), workMonth.getMonth(), data.toByteArray()));
+        } catch (DataIntegrityViolationException e) {
+            transaction.execute(status -> save(username, workMonth.getYear(), workMonth.getMonth(), data.toByteArray()));
+        }
+        evict(username, workMonth.getYear(), workMonth.getMonth());
+    }
+
+    private WorkSnapshot save(String username, Integer year, Integer month, byte[] data) {
+        WorkSnapshot snapshot = workSnapshotRepository.findByUsernameAndYearAndMonth(username, year, month)
+            .orElseGet(WorkSnapshot::new);
+        snapshot.setUsername(username);
+        snapshot.setYear(year);
+        snapshot.setMonth(month);
+        snapshot.setCreated(LocalDateTime.now());
+        snapshot.setData(data);
+        return workSnapshotRepository.saveAndFlush(snapshot);
+    }
+
+    /**
+     * Remove frozen work month of user.
+     *
+     * @param username
+     *            specific user
+     * @param year
+     *            year of month
+     * @param month
+     *            month
+     * @return count of removed snapshots
+     */
+    public int remove(String username, Integer year, Integer month) {
+        int removed = workSnapshotRepository.deleteByUsernameAndYearAndMonth(username, year, month);
+        evict(username, year, month);
+        return removed;
+    }
+
+    /**
+     * Evict cached snapshot, evicted again after completion of running transaction (concurrent read could cache
+     * snapshot before commit).
+     */
+    private void evict(String username, Integer year, Integer month) {
+        if (works == null) {
+            return;
+        }
+        String key = key(username, year, month);
+        works.evict(key);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+                @Override
+                public void afterCompletion(int status) {
+                    works.evict(key);
+                }
+            });
+        }
+    }
+
+    private static String key(String username, Integer year, Integer month) {
+        return username + "/" + year + "/" + month;
+    }
+}
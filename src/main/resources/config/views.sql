@@ -42,6 +42,54 @@ create table AIS_WORK (
    PRIMARY KEY (ID)
 );
 
+# AIS_WORK ids allocated by table generator in blocks of 50 (batched inserts), start over existing ids
+create table AIS_SEQUENCE (
+   SEQ_NAME varchar(255) NOT NULL,
+   SEQ_VALUE bigint NOT NULL,
+   PRIMARY KEY (SEQ_NAME)
+);
+
+insert into AIS_SEQUENCE(SEQ_NAME, SEQ_VALUE) select 'AIS_WORK', coalesce(max(ID), 0) + 100 from AIS_WORK;
+
+create table AIS_WORK_MONTH (
+   ID bigint NOT NULL,
+   USERNAME varchar(255) NOT NULL,
+   YEAR int NOT NULL,
+   MONTH int NOT NULL,
+   SUM_WORK_DAYS int,
+   SUM_HOLIDAYS int,
+   SUM_ON_SITE_DAYS double,
+   HOURS_WORK double NOT NULL DEFAULT 0,
+   HOURS_TRIP double NOT NULL DEFAULT 0,
+   HOURS_SICKDAY double NOT NULL DEFAULT 0,
+   HOURS_SICKNESS double NOT NULL DEFAULT 0,
+   HOURS_TIMEOFF double NOT NULL DEFAULT 0,
+   HOURS_HOLIDAY double NOT NULL DEFAULT 0,
+   HOURS_PAID_LEAVE double NOT NULL DEFAULT 0,
+   VERSION bigint NOT NULL DEFAULT 0,
+   PRIMARY KEY (ID)
+);
+
+CREATE UNIQUE INDEX idx_ais_work_month_uq
+ON AIS_WORK_MONTH(USERNAME, YEAR, MONTH);
+
+insert into AIS_SEQUENCE(SEQ_NAME, SEQ_VALUE) values ('AIS_WORK_MONTH', 100);
+
+create table AIS_WORK_SNAPSHOT (
+   ID bigint NOT NULL,
+   USERNAME varchar(255) NOT NULL,
+   YEAR int NOT NULL,
+   MONTH int NOT NULL,
+   CREATED datetime NOT NULL,
+   DATA longblob NOT NULL,
+   PRIMARY KEY (ID)
+);
+
+CREATE UNIQUE INDEX idx_ais_work_snapshot_uq
+ON AIS_WORK_SNAPSHOT(USERNAME, YEAR, MONTH);
+
+insert into AIS_SEQUENCE(SEQ_NAME, SEQ_VALUE) values ('AIS_WORK_SNAPSHOT', 100);
+
 CREATE UNIQUE INDEX idx_ais_username_uq
 ON AIS_USERNAME(UZIVJMENO);
 
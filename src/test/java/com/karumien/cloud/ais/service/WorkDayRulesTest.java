@@ -0,0 +1,142 @@
+/*
+ * Copyright (c) 2019-2029 Karumien s.r.o.
+ *
+ * Karumien s.r.o. is not responsible for defects arising from
+ * unauthorized changes to the source code.
+ */
+package com.karumien.cloud.ais.service;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Rules of work day.
+ *
+ * @since 1.0, 18. 10. 2026 18:02:37
+ */
+public class WorkDayRulesTest {
+
+    private static final long DAY = 1_000 * 86_400L;
+
+    private static final double DELTA = 0.0001d;
+
+    private WorkDayRules.Day day;
+
+    private WorkDayRules.Result result;
+
+    @Before
+    public void setUp() {
+        day = new WorkDayRules.Day();
+        day.setDayStart(DAY);
+        day.setWork(8d);
+        day.setBalance(0d);
+        day.setLunch(0.5d);
+        day.setArrival(time(7, 0));
+        day.setDeparture(time(15, 30));
+        day.setActualArrival(time(7, 0));
+        day.setActualDeparture(time(15, 30));
+        result = new WorkDayRules.Result();
+    }
+
+    private static long time(int hour, int minute) {
+        return DAY + hour * 3600L + minute * 60L;
+    }
+
+    @Test
+    public void regularDay() {
+        WorkDayRules.apply(day, result);
+
+        assertEquals(8d, result.getWorkedHours(), DELTA);
+        assertEquals(0d, result.getSaldo(), DELTA);
+        assertEquals(0d, result.getUnpaid(), DELTA);
+        assertEquals(time(7, 0), result.getStart());
+        assertNull(result.getStartCorrected());
+        assertEquals(time(15, 30), result.getEnd());
+        assertNull(result.getEndCorrected());
+        assertTrue(Double.isNaN(result.getOriginalLunch()));
+    }
+
+    @Test
+    public void missingLunchCorrected() {
+        day.setLunch(Double.NaN);
+        day.setBalance(1d);
+
+        WorkDayRules.apply(day, result);
+
+        assertEquals(0.5d, result.getLunch(), DELTA);
+        assertEquals(0d, result.getOriginalLunch(), DELTA);
+        assertEquals(7.5d, result.getWorkedHours(), DELTA);
+        assertEquals(0.5d, result.getSaldo(), DELTA);
+    }
+
+    @Test
+    public void timeOutOfWindowUnpaid() {
+        day.setArrival(time(6, 0));
+        day.setActualArrival(time(6, 0));
+        day.setActualDeparture(time(17, 45));
+        day.setDeparture(time(17, 45));
+
+        WorkDayRules.apply(day, result);
+
+        assertEquals(1.25d, result.getUnpaid(), DELTA);
+        assertEquals(time(6, 30), result.getStart());
+        assertEquals(time(6, 0), result.getStartOriginal());
+        assertTrue(result.getStartCorrected());
+        assertEquals(time(17, 0), result.getEnd());
+        assertEquals(time(17, 45), result.getEndOriginal());
+        assertTrue(result.getEndCorrected());
+    }
+
+    @Test
+    public void summerMonth() {
+        day.setSummer(true);
+        day.setArrival(time(6, 0));
+        day.setActualArrival(time(6, 0));
+        day.setOnSite(9d);
+        day.setTrip(0.5d);
+
+        WorkDayRules.apply(day, result);
+
+        assertEquals(0d, result.getUnpaid(), DELTA);
+        assertEquals(time(6, 0), result.getStart());
+        assertEquals(9.5d, result.getWorkedHours(), DELTA);
+        assertEquals(1.5d, result.getSaldo(), DELTA);
+    }
+
+    @Test
+    public void lastAccessTripCompletesDay() {
+        day.setDeparture(WorkDayRules.NONE);
+        day.setActualDeparture(WorkDayRules.NONE);
+        day.setWork(3d);
+        day.setBalance(-5d);
+        assertTrue(WorkDayRules.needsLastCategory(day));
+
+        day.setLastCategory(4);
+        WorkDayRules.apply(day, result);
+
+        assertEquals(time(15, 30), result.getEnd());
+        assertTrue(result.getEndCorrected());
+        assertEquals(8d, result.getWorkedHours(), DELTA);
+        assertEquals(0d, result.getSaldo(), DELTA);
+    }
+
+    @Test
+    public void lastAccessDepartureKeepsDay() {
+        day.setDeparture(WorkDayRules.NONE);
+        day.setActualDeparture(WorkDayRules.NONE);
+        day.setWork(3d);
+        day.setBalance(-5d);
+        day.setLastCategory(2);
+
+        WorkDayRules.apply(day, result);
+
+        assertEquals(WorkDayRules.NONE, result.getEnd());
+        assertNull(result.getEndCorrected());
+        assertEquals(3d, result.getWorkedHours(), DELTA);
+        assertEquals(-5d, result.getSaldo(), DELTA);
+    }
+}